@@ -1,25 +1,39 @@
 package com.minelittlepony.unicopia;
 
-import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.TimeUnit;
 import java.util.function.Consumer;
+
+import com.minelittlepony.unicopia.server.world.TaskScheduler;
+
 import net.minecraft.server.world.ServerWorld;
 import net.minecraft.world.World;
 
 public interface AwaitTickQueue {
-    static void scheduleTask(World reference, Consumer<World> task, int ticksLater) {
-        if (reference instanceof ServerWorld serverWorld) {
-            CompletableFuture.runAsync(() -> {
-                task.accept(serverWorld);
-            }, CompletableFuture.delayedExecutor(ticksLater * 100, TimeUnit.MILLISECONDS, serverWorld.getServer()));
-        }
+    /**
+     * The number of world ticks in one step of {@code ticksLater}.
+     * Delays were originally measured in steps of 100ms, and every caller is tuned against that.
+     */
+    int TICKS_PER_STEP = 2;
+
+    /**
+     * Schedules a task to run on the server thread after a delay.
+     *
+     * @param ticksLater The delay in steps of 100ms (two world ticks)
+     */
+    static TaskScheduler.Handle scheduleTask(World reference, Consumer<World> task, int ticksLater) {
+        return schedule(reference, task, ticksLater * TICKS_PER_STEP);
+    }
+
+    /**
+     * Schedules a task to run on the server thread at the end of the next tick.
+     */
+    static TaskScheduler.Handle scheduleTask(World reference, Consumer<World> task) {
+        return schedule(reference, task, 1);
     }
 
-    static void scheduleTask(World reference, Consumer<World> task) {
+    private static TaskScheduler.Handle schedule(World reference, Consumer<World> task, int ticks) {
         if (reference instanceof ServerWorld serverWorld) {
-            CompletableFuture.runAsync(() -> {
-                task.accept(serverWorld);
-            }, CompletableFuture.delayedExecutor(1, TimeUnit.MILLISECONDS, serverWorld.getServer()));
+            return TaskScheduler.get(serverWorld).schedule(task, ticks);
         }
+        return TaskScheduler.Handle.NONE;
     }
 }
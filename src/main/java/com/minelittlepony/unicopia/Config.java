@@ -24,6 +24,10 @@ public class Config extends com.minelittlepony.common.util.settings.Config {
     public final Setting<Boolean> enableCheats = value("server", "enableCheats", false)
             .addComment("Allows use of the /tribe, /unicopia disguise, and /unicopia gravity commands");
 
+    public final Setting<Integer> particleBudgetPerPlayer = value("server", "particleBudgetPerPlayer", 512)
+            .addComment("The maximum number of particles sent to each player every tick")
+            .addComment("Particles over this limit are thinned out evenly across all of the effects playing near the player.");
+
     public final Setting<Race> preferredRace = value("client", "preferredRace", Race.EARTH)
             .addComment("The default preferred race")
             .addComment("This is the race a client requests when first joining a game")
@@ -52,9 +56,14 @@ public class Config extends com.minelittlepony.common.util.settings.Config {
             .addComment("Disables post-effect shaders used by the corruption mechanic");
 
     public final Setting<Long> fancyPortalRefreshRate = value("client", "fancyPortalRefreshRate", -1L)
-            .addComment("Sets the refresh rate of portals when using fancy portal rendering")
+            .addComment("Sets the minimum time (in milliseconds) between updates of a portal's view when using fancy portal rendering")
             .addComment("Set to -1 (default) for unlimited");
 
+    public final Setting<Integer> portalFrameBudget = value("client", "portalFrameBudget", 4)
+            .addComment("The maximum time (in milliseconds) to spend each frame updating the views of portals when using fancy portal rendering")
+            .addComment("Portals that don't fit into the budget keep showing their last frame")
+            .addComment("Set to 0 for unlimited");
+
     public final Setting<Integer> maxPortalRecursion = value("client", "maxPortalRecursion", 2)
             .addComment("Sets the maximum depth to reach when rendering portals through portals");
 
@@ -17,6 +17,8 @@ import com.mojang.brigadier.exceptions.CommandSyntaxException;
 import com.mojang.brigadier.exceptions.DynamicCommandExceptionType;
 
 import net.minecraft.command.argument.RegistryKeyArgumentType;
+import net.minecraft.entity.data.TrackedDataHandler;
+import net.minecraft.entity.data.TrackedDataHandlerRegistry;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.command.ServerCommandSource;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -27,9 +29,17 @@ import net.minecraft.registry.RegistryKey;
 
 public record Race (Supplier<Composite> compositeSupplier, Availability availability, boolean canCast, FlightType flightType, boolean canUseEarth, boolean isNocturnal, boolean canHang) implements Affine {
     public static final String DEFAULT_ID = "unicopia:unset";
-    public static final Registry<Race> REGISTRY = RegistryUtils.createDefaulted(Unicopia.id("race"), DEFAULT_ID);
+    public static final Registry<Race> REGISTRY = RegistryUtils.createSyncedDefaulted(Unicopia.id("race"), DEFAULT_ID);
     public static final Registry<Race> COMMAND_REGISTRY = RegistryUtils.createDefaulted(Unicopia.id("race/grantable"), DEFAULT_ID);
     public static final RegistryKey<? extends Registry<Race>> REGISTRY_KEY = REGISTRY.getKey();
+    /**
+     * Synchronises races by their raw registry id instead of by name.
+     * The race registry is synced, so raw ids match between the client and server even if add-ons register races in a different order.
+     */
+    public static final TrackedDataHandler<Race> TRACKED_DATA_HANDLER = TrackedDataHandler.of(
+            (buffer, race) -> buffer.writeRegistryValue(REGISTRY, race),
+            buffer -> buffer.readRegistryValue(REGISTRY)
+    );
     private static final DynamicCommandExceptionType UNKNOWN_RACE_EXCEPTION = new DynamicCommandExceptionType(id -> Text.translatable("race.unknown", id));
 
     public static Race register(String name, Availability availability, boolean magic, FlightType flight, boolean earth, boolean nocturnal, boolean canHang) {
@@ -64,7 +74,9 @@ public record Race (Supplier<Composite> compositeSupplier, Availability availabi
     public static final Race HIPPOGRIFF = register("hippogriff", Availability.DEFAULT, false, FlightType.AVIAN, false, false, false);
     public static final Race SEAPONY = register("seapony", Availability.NONE, false, FlightType.NONE, false, false, false);
 
-    public static void bootstrap() {}
+    public static void bootstrap() {
+        TrackedDataHandlerRegistry.register(TRACKED_DATA_HANDLER);
+    }
 
     public Composite composite() {
         return compositeSupplier.get();
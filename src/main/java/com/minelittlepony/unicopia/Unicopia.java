@@ -1,6 +1,8 @@
 package com.minelittlepony.unicopia;
 
 import net.fabricmc.api.ModInitializer;
+import net.fabricmc.fabric.api.event.lifecycle.v1.CommonLifecycleEvents;
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerChunkEvents;
 import net.fabricmc.fabric.api.event.lifecycle.v1.ServerTickEvents;
 import net.fabricmc.fabric.api.resource.ResourceManagerHelper;
 import net.minecraft.resource.ResourceType;
@@ -23,6 +25,7 @@ import com.minelittlepony.unicopia.compat.trinkets.TrinketsDelegate;
 import com.minelittlepony.unicopia.container.SpellbookChapterLoader;
 import com.minelittlepony.unicopia.container.UScreenHandlers;
 import com.minelittlepony.unicopia.diet.DietsLoader;
+import com.minelittlepony.unicopia.diet.PonyDiets;
 import com.minelittlepony.unicopia.diet.affliction.AfflictionType;
 import com.minelittlepony.unicopia.entity.damage.UDamageTypes;
 import com.minelittlepony.unicopia.entity.effect.UPotions;
@@ -31,9 +34,11 @@ import com.minelittlepony.unicopia.entity.player.Pony;
 import com.minelittlepony.unicopia.item.UItems;
 import com.minelittlepony.unicopia.item.enchantment.UEnchantments;
 import com.minelittlepony.unicopia.network.Channel;
+import com.minelittlepony.unicopia.particle.ParticleBroadcaster;
 import com.minelittlepony.unicopia.particle.UParticles;
 import com.minelittlepony.unicopia.server.world.BlockDestructionManager;
 import com.minelittlepony.unicopia.server.world.NocturnalSleepManager;
+import com.minelittlepony.unicopia.server.world.TaskScheduler;
 import com.minelittlepony.unicopia.server.world.UGameRules;
 import com.minelittlepony.unicopia.server.world.UWorldGen;
 import com.minelittlepony.unicopia.server.world.WeatherConditions;
@@ -75,6 +80,8 @@ public class Unicopia implements ModInitializer {
             ((BlockDestructionManager.Source)w).getDestructionManager().tick();
             ZapAppleStageStore.get(w).tick();
             WeatherConditions.get(w).tick();
+            TaskScheduler.get(w).tick();
+            ParticleBroadcaster.get(w).flush(w);
             if (Debug.SPELLBOOK_CHAPTERS) {
                 SpellbookChapterLoader.INSTANCE.sendUpdate(w.getServer());
             }
@@ -82,6 +89,18 @@ public class Unicopia implements ModInitializer {
                 Debug.runTests(w);
             }
         });
+        ServerChunkEvents.CHUNK_LOAD.register((w, chunk) -> {
+            WeatherConditions.get(w).getAirflowField().invalidate(chunk.getPos());
+            ZapAppleStageStore.get(w).onChunkLoaded(chunk);
+        });
+        ServerChunkEvents.CHUNK_UNLOAD.register((w, chunk) -> {
+            WeatherConditions.get(w).getAirflowField().invalidate(chunk.getPos());
+            ZapAppleStageStore.get(w).onChunkUnloaded(chunk.getPos());
+        });
+        CommonLifecycleEvents.TAGS_LOADED.register((registries, client) -> {
+            StateMapLoader.INSTANCE.onTagsLoaded();
+            PonyDiets.getInstance().invalidate();
+        });
         NocturnalSleepManager.bootstrap();
 
         registerServerDataReloaders(ResourceManagerHelper.get(ResourceType.SERVER_DATA));
@@ -0,0 +1,73 @@
+package com.minelittlepony.unicopia.ability.data.tree;
+
+import java.util.function.Supplier;
+
+import com.google.common.base.Suppliers;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.util.math.BlockBox;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.world.World;
+
+/**
+ * Remembers the trees scanned in a world for a few seconds so repeated kicks against the
+ * same tree don't have to walk all of its logs and leaves again.
+ * <p>
+ * Entries are dropped as soon as any block inside (or directly next to) their bounds changes.
+ * The cache lives on the world itself since it's told about every block change, most of which happen while it's empty.
+ */
+public class TreeCache {
+    private static final long LIFETIME = 100;
+
+    private final World world;
+
+    private final Long2ObjectMap<Entry> entries = new Long2ObjectOpenHashMap<>();
+
+    public static Supplier<TreeCache> create(World world) {
+        return Suppliers.memoize(() -> new TreeCache(world));
+    }
+
+    public static TreeCache get(World world) {
+        return ((TreeCache.Source)world).getTreeCache();
+    }
+
+    private TreeCache(World world) {
+        this.world = world;
+    }
+
+    TreeType.Tree getOrCollect(TreeType type, BlockPos base, Supplier<TreeType.Tree> collector) {
+        long now = world.getTime();
+        entries.values().removeIf(entry -> entry.expiry() < now);
+
+        Entry entry = entries.get(base.asLong());
+        if (entry != null && entry.type().equals(type)) {
+            return entry.tree();
+        }
+
+        TreeType.Tree tree = collector.get();
+        entries.put(base.asLong(), new Entry(type, tree, getBounds(base, tree), now + LIFETIME));
+        return tree;
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        if (entries.isEmpty()) {
+            return;
+        }
+        entries.values().removeIf(entry -> entry.bounds().contains(pos));
+    }
+
+    @SuppressWarnings("deprecation")
+    private static BlockBox getBounds(BlockPos base, TreeType.Tree tree) {
+        BlockBox bounds = new BlockBox(base);
+        tree.logs().forEach(new BlockPos.Mutable(), bounds::encompass);
+        tree.leaves().forEach(new BlockPos.Mutable(), bounds::encompass);
+        return bounds.expand(1);
+    }
+
+    private record Entry(TreeType type, TreeType.Tree tree, BlockBox bounds, long expiry) {}
+
+    public interface Source {
+        TreeCache getTreeCache();
+    }
+}
@@ -4,6 +4,8 @@ import java.util.Optional;
 
 import com.minelittlepony.unicopia.util.PosHelper;
 
+import it.unimi.dsi.fastutil.longs.LongArrayList;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Direction;
@@ -42,27 +44,39 @@ public class TreeTraverser {
     private void traverse(World w, BlockPos.Mutable pos) {
         logs = new PosHelper.PositionRecord();
         leaves = new PosHelper.PositionRecord();
-        innerTraverse(w, pos, 0);
-    }
-
-    private void innerTraverse(World w, BlockPos.Mutable pos, int recurseLevel) {
-        if (recurseLevel >= maxRecurse || logs.hasVisited(pos) || leaves.hasVisited(pos)) {
-            return;
-        }
-
-        BlockState state = w.getBlockState(pos);
-        boolean yay = false;
 
-        if (type.isLeaves(state)) {
-            leaves.visit(pos);
-            yay = true;
-        } else if (type.isLog(state)) {
-            logs.visit(pos);
-            yay = true;
-        }
+        // breadth-first, one ring of neighbours per level, so big trees don't blow the stack
+        LongOpenHashSet rejected = new LongOpenHashSet();
+        LongArrayList frontier = LongArrayList.of(pos.asLong());
+        LongArrayList next = new LongArrayList();
+
+        for (int level = 0; level < maxRecurse && !frontier.isEmpty(); level++) {
+            for (int i = 0; i < frontier.size(); i++) {
+                pos.set(frontier.getLong(i));
+                if (logs.hasVisited(pos) || leaves.hasVisited(pos) || rejected.contains(pos.asLong())) {
+                    continue;
+                }
+
+                BlockState state = w.getBlockState(pos);
+
+                if (type.isLeaves(state)) {
+                    leaves.visit(pos);
+                } else if (type.isLog(state)) {
+                    logs.visit(pos);
+                } else {
+                    rejected.add(pos.asLong());
+                    continue;
+                }
+
+                for (Direction direction : WIDE_DIRS) {
+                    next.add(BlockPos.offset(pos.asLong(), direction));
+                }
+            }
 
-        if (yay) {
-            PosHelper.fastAll(pos, p -> innerTraverse(w, p, recurseLevel + 1), WIDE_DIRS);
+            LongArrayList swap = frontier;
+            frontier = next;
+            next = swap;
+            next.clear();
         }
     }
 
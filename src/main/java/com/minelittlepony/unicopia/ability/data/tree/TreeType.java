@@ -7,9 +7,11 @@ import com.minelittlepony.unicopia.util.Weighted;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.item.ItemStack;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
@@ -29,32 +31,7 @@ public interface TreeType {
         if (logs == NONE || leaves == NONE || Objects.equals(logs, leaves)) {
             return logs;
         }
-        return new TreeType() {
-            @Override
-            public boolean isLeaves(BlockState state) {
-                return leaves.isLeaves(state);
-            }
-
-            @Override
-            public boolean isLog(BlockState state) {
-                return logs.isLog(state);
-            }
-
-            @Override
-            public ItemStack pickRandomStack(Random random, BlockState state) {
-                return (isLeaves(state) ? leaves : logs).pickRandomStack(random, state);
-            }
-
-            @Override
-            public boolean isWide() {
-                return logs.isWide();
-            }
-
-            @Override
-            public float leavesRatio() {
-                return logs.leavesRatio();
-            }
-        };
+        return new Composite(logs, leaves);
     }
 
     boolean isLeaves(BlockState state);
@@ -83,11 +60,41 @@ public interface TreeType {
         }
         TreeTraverser traverser = new TreeTraverser(this);
         return traverser.findBase(w, pos).map(base -> {
-            PosHelper.PositionRecord logs = traverser.collectLogs(w, base);
-            PosHelper.PositionRecord leaves = traverser.collectLeaves(w, base);
-            return logs.size() <= (leaves.size() * leavesRatio()) ? new Tree(logs, leaves) : null;
-        });
+            Supplier<Tree> collector = () -> {
+                PosHelper.PositionRecord logs = traverser.collectLogs(w, base);
+                PosHelper.PositionRecord leaves = traverser.collectLeaves(w, base);
+                return new Tree(logs, leaves);
+            };
+            return w instanceof ServerWorld ? TreeCache.get(w).getOrCollect(this, base, collector) : collector.get();
+        }).filter(tree -> tree.logs().size() <= (tree.leaves().size() * leavesRatio()));
     }
 
     record Tree(PosHelper.PositionRecord logs, PosHelper.PositionRecord leaves) { }
+
+    record Composite(TreeType logs, TreeType leaves) implements TreeType {
+        @Override
+        public boolean isLeaves(BlockState state) {
+            return leaves.isLeaves(state);
+        }
+
+        @Override
+        public boolean isLog(BlockState state) {
+            return logs.isLog(state);
+        }
+
+        @Override
+        public ItemStack pickRandomStack(Random random, BlockState state) {
+            return (isLeaves(state) ? leaves : logs).pickRandomStack(random, state);
+        }
+
+        @Override
+        public boolean isWide() {
+            return logs.isWide();
+        }
+
+        @Override
+        public float leavesRatio() {
+            return logs.leavesRatio();
+        }
+    }
 }
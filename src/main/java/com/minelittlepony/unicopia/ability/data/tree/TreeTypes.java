@@ -1,14 +1,21 @@
 package com.minelittlepony.unicopia.ability.data.tree;
 
-import java.util.HashSet;
 import java.util.Map;
+import java.util.Optional;
 import java.util.Set;
 import java.util.stream.Collectors;
+
+import org.jetbrains.annotations.Nullable;
+
 import com.minelittlepony.unicopia.util.PosHelper;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.Blocks;
 import net.minecraft.block.LeavesBlock;
 import net.minecraft.item.ItemStack;
+import net.minecraft.registry.Registries;
 import net.minecraft.registry.tag.BlockTags;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
@@ -17,28 +24,44 @@ import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
 
 public class TreeTypes {
-    private static Set<TreeType> entries = new HashSet<>();
+    private static Map<Block, TreeType> logs = new Reference2ObjectOpenHashMap<>();
+    private static Map<Block, TreeType> leaves = new Reference2ObjectOpenHashMap<>();
 
     private static final TreeType any1x = createDynamic(false);
     private static final TreeType any2x = createDynamic(true);
 
     public static void load(Map<Identifier, TreeTypeLoader.TreeTypeDef> types) {
-        entries = types.entrySet().stream().map(e -> e.getValue().toTreeType(e.getKey())).collect(Collectors.toSet());
+        Set<TreeType> entries = types.entrySet().stream().map(e -> e.getValue().toTreeType(e.getKey())).collect(Collectors.toSet());
+
+        Map<Block, TreeType> newLogs = new Reference2ObjectOpenHashMap<>();
+        Map<Block, TreeType> newLeaves = new Reference2ObjectOpenHashMap<>();
+        entries.forEach(type -> {
+            if (type instanceof TreeTypeImpl impl) {
+                impl.logs().forEach(id -> Registries.BLOCK.getOrEmpty(id).ifPresent(block -> newLogs.putIfAbsent(block, type)));
+                impl.leaves().forEach(id -> Registries.BLOCK.getOrEmpty(id).ifPresent(block -> newLeaves.putIfAbsent(block, type)));
+            }
+        });
+        logs = newLogs;
+        leaves = newLeaves;
     }
 
     static TreeType get(BlockState state, BlockPos pos, World world) {
-        return entries.stream()
-                .filter(type -> type.matches(state))
-                .findFirst()
+        return Optional.ofNullable(find(state))
                 .map(type -> TreeType.of(type, findLeavesType(type, world, pos)))
                 .orElseGet(() -> any1x.matches(state) ? (PosHelper.fastAny(pos, p -> world.getBlockState(p).isOf(state.getBlock()), PosHelper.HORIZONTAL) ? any2x : any1x) : TreeType.NONE);
     }
 
     static TreeType get(BlockState state) {
-        return entries.stream()
-                .filter(type -> type.matches(state))
-                .findFirst()
-                .orElse(TreeType.NONE);
+        return Optional.ofNullable(find(state)).orElse(TreeType.NONE);
+    }
+
+    @Nullable
+    private static TreeType find(BlockState state) {
+        TreeType type = logs.get(state.getBlock());
+        if (type == null && TreeTypeImpl.isNonPersistent(state)) {
+            type = leaves.get(state.getBlock());
+        }
+        return type;
     }
 
     private static TreeType findLeavesType(TreeType baseType, World w, BlockPos pos) {
@@ -55,12 +78,12 @@ public class TreeTypes {
         return new TreeType() {
             @Override
             public boolean isLeaves(BlockState state) {
-                return (state.isIn(BlockTags.LEAVES) || state.getBlock() instanceof LeavesBlock || entries.stream().anyMatch(t -> t.isLeaves(state))) && TreeTypeImpl.isNonPersistent(state);
+                return (state.isIn(BlockTags.LEAVES) || state.getBlock() instanceof LeavesBlock || leaves.containsKey(state.getBlock())) && TreeTypeImpl.isNonPersistent(state);
             }
 
             @Override
             public boolean isLog(BlockState state) {
-                return state.isIn(BlockTags.LOGS_THAT_BURN) || entries.stream().anyMatch(t -> t.isLog(state));
+                return state.isIn(BlockTags.LOGS_THAT_BURN) || logs.containsKey(state.getBlock());
             }
 
             @Override
@@ -101,7 +101,7 @@ public interface Caster<E extends Entity> extends
     }
 
     default boolean canCastAt(Vec3d pos) {
-        return !Ether.get(asWorld()).anyMatch(SpellType.ARCANE_PROTECTION, (spell, caster) -> spell.blocksMagicFor(caster, this, pos));
+        return !Ether.get(asWorld()).anyMatchAt(SpellType.ARCANE_PROTECTION, pos, (spell, caster) -> spell.blocksMagicFor(caster, this, pos));
     }
 
     default boolean canUse(Ability<?> ability) {
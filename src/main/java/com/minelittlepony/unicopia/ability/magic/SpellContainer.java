@@ -85,6 +85,11 @@ public interface SpellContainer {
      */
     boolean clear();
 
+    /**
+     * A counter that changes every time spells are added to, removed from, or replaced in this slot.
+     */
+    int getVersion();
+
     public enum Operation {
         SKIP,
         KEEP,
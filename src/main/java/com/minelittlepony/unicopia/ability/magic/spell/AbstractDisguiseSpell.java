@@ -2,11 +2,14 @@ package com.minelittlepony.unicopia.ability.magic.spell;
 
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 import com.minelittlepony.unicopia.ability.magic.Caster;
 import com.minelittlepony.unicopia.ability.magic.SpellPredicate;
 import com.minelittlepony.unicopia.ability.magic.spell.effect.*;
 import com.minelittlepony.unicopia.entity.behaviour.Disguise;
 import com.minelittlepony.unicopia.entity.behaviour.EntityAppearance;
+import com.minelittlepony.unicopia.entity.collision.CollisionSources;
 import com.minelittlepony.unicopia.entity.player.Pony;
 import com.minelittlepony.unicopia.projectile.ProjectileImpactListener;
 
@@ -14,6 +17,7 @@ import net.minecraft.entity.Entity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.projectile.ProjectileEntity;
 import net.minecraft.nbt.NbtCompound;
+import net.minecraft.world.World;
 
 /**
  * Base implementation for a spell that changes the player's appearance.
@@ -22,6 +26,13 @@ public abstract class AbstractDisguiseSpell extends AbstractSpell implements Dis
 
     private final EntityAppearance disguise = new EntityAppearance();
 
+    /**
+     * The world whose collision sources the caster was added to. Players keep their spells when changing dimension,
+     * so this is compared every tick to move the caster over to the new world's index.
+     */
+    @Nullable
+    private World registeredWorld;
+
     public AbstractDisguiseSpell(CustomisedSpellType<?> type) {
         super(type);
     }
@@ -34,6 +45,11 @@ public abstract class AbstractDisguiseSpell extends AbstractSpell implements Dis
             ((Pony) caster).setInvisible(false);
         }
         disguise.remove();
+        CollisionSources.get(caster.asWorld()).remove(caster.asEntity());
+        if (registeredWorld != null && registeredWorld != caster.asWorld() && !registeredWorld.isClient) {
+            CollisionSources.get(registeredWorld).remove(caster.asEntity());
+        }
+        registeredWorld = null;
     }
 
     @Override
@@ -48,7 +64,18 @@ public abstract class AbstractDisguiseSpell extends AbstractSpell implements Dis
 
     @Override
     public boolean tick(Caster<?> source, Situation situation) {
-        return situation == Situation.BODY && update(source, true);
+        if (situation != Situation.BODY) {
+            return false;
+        }
+        if (registeredWorld != source.asWorld()) {
+            // client instances are only kept for the current world, and the old one is discarded with its index anyway
+            if (registeredWorld != null && !registeredWorld.isClient) {
+                CollisionSources.get(registeredWorld).remove(source.asEntity());
+            }
+            registeredWorld = source.asWorld();
+            CollisionSources.get(registeredWorld).add(source.asEntity());
+        }
+        return update(source, true);
     }
 
     @Override
@@ -44,7 +44,7 @@ public class AreaProtectionSpell extends AbstractAreaEffectSpell {
                 }
             });
         } else {
-            Ether.get(source.asWorld()).getOrCreate(this, source);
+            Ether.get(source.asWorld()).getOrCreate(this, source).setBounds(source.getOriginVector(), radius);
         }
 
         source.findAllSpellsInRange(radius, e -> isValidTarget(source, e)).filter(caster -> !caster.hasCommonOwner(source)).forEach(caster -> {
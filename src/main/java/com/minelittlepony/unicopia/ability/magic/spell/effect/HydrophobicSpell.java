@@ -68,7 +68,7 @@ public class HydrophobicSpell extends AbstractSpell {
                return false;
             });
 
-            area.getBlockPositions().forEach(pos -> {
+            area.forEachBlockPosition(pos -> {
                 pos = new BlockPos(pos);
                 BlockState state = world.getBlockState(pos);
 
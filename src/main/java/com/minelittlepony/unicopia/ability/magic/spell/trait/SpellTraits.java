@@ -1,27 +1,30 @@
 package com.minelittlepony.unicopia.ability.magic.spell.trait;
 
+import java.util.AbstractSet;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
-import java.util.EnumMap;
 import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.NoSuchElementException;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.BiFunction;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.google.gson.JsonElement;
 import com.google.gson.JsonObject;
 import com.minelittlepony.unicopia.Unicopia;
 import com.minelittlepony.unicopia.client.gui.ItemTraitsTooltipRenderer;
-import com.minelittlepony.unicopia.util.InventoryUtil;
 
 import net.fabricmc.api.EnvType;
 import net.fabricmc.api.Environment;
@@ -38,9 +41,29 @@ import net.minecraft.util.Identifier;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.registry.Registries;
 
+/**
+ * An immutable set of trait amounts.
+ * <p>
+ * Amounts are stored in a flat array indexed by trait ordinal, so combining traits
+ * is a single loop over the array rather than a walk over map entries.
+ * Traits with an amount of zero are considered absent.
+ */
 public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
-    public static final SpellTraits EMPTY = new SpellTraits(Map.of());
-    private static final SpellTraits SPAWN_EGG_TRAITS = new SpellTraits(Map.of(Trait.LIFE, 20F));
+    private static final Trait[] TRAITS = Trait.values();
+    public static final SpellTraits EMPTY = new SpellTraits(new float[TRAITS.length]);
+    private static final SpellTraits[] UNITS = Arrays.stream(TRAITS).map(trait -> {
+        float[] values = new float[TRAITS.length];
+        values[trait.ordinal()] = 1;
+        return new SpellTraits(values);
+    }).toArray(SpellTraits[]::new);
+    private static final SpellTraits SPAWN_EGG_TRAITS = new Builder().with(Trait.LIFE, 20F).build();
+
+    private static final Cache<NbtCompound, EmbeddedTraits> EMBEDDED_TRAITS = CacheBuilder.newBuilder()
+            .weakKeys()
+            .maximumSize(1024)
+            .build();
+    private static final LongAdder EMBEDDED_HITS = new LongAdder();
+    private static final LongAdder EMBEDDED_MISSES = new LongAdder();
 
     private static Map<Identifier, SpellTraits> REGISTRY = new HashMap<>();
     static final Map<Trait, List<Item>> ITEMS = new HashMap<>();
@@ -64,26 +87,78 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
         return new HashMap<>(REGISTRY);
     }
 
-    private final Map<Trait, Float> traits;
+    private final float[] values;
+    private final int size;
 
-    SpellTraits(Map<Trait, Float> traits) {
-        this.traits = traits;
-    }
+    private Set<Map.Entry<Trait, Float>> entries;
 
-    SpellTraits(SpellTraits from) {
-        this(new EnumMap<>(from.traits));
+    private SpellTraits(float[] values) {
+        this.values = values;
+        int size = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] == 0) {
+                values[i] = 0; // normalize negative zero so equals and hashCode agree
+            } else {
+                size++;
+            }
+        }
+        this.size = size;
+    }
+
+    /**
+     * Creates traits from an array of amounts indexed by trait ordinal, taking ownership of the array.
+     */
+    private static SpellTraits wrap(float[] values) {
+        int present = -1;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                if (present != -1) {
+                    return new SpellTraits(values);
+                }
+                present = i;
+            }
+        }
+        if (present == -1) {
+            return EMPTY;
+        }
+        return values[present] == 1 ? UNITS[present] : new SpellTraits(values);
     }
 
     public float getCorruption() {
-        return (float)stream().filter(e -> e.getValue() != 0).mapToDouble(e -> e.getKey().getGroup().getCorruption()).sum();
+        double corruption = 0;
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                corruption += TRAITS[i].getGroup().getCorruption();
+            }
+        }
+        return (float)corruption;
     }
 
     public SpellTraits multiply(float factor) {
-        return factor == 0 ? EMPTY : map(v -> v * factor);
+        if (factor == 0 || isEmpty()) {
+            return EMPTY;
+        }
+        if (factor == 1) {
+            return this;
+        }
+        float[] values = new float[this.values.length];
+        for (int i = 0; i < values.length; i++) {
+            values[i] = this.values[i] * factor;
+        }
+        return wrap(values);
     }
 
     public SpellTraits add(float amount) {
-        return amount == 0 ? this : map(v -> v + amount);
+        if (amount == 0 || isEmpty()) {
+            return this;
+        }
+        float[] values = new float[this.values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (this.values[i] != 0) {
+                values[i] = this.values[i] + amount;
+            }
+        }
+        return wrap(values);
     }
 
     public SpellTraits add(SpellTraits traits) {
@@ -99,13 +174,17 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
             return this;
         }
 
-        Map<Trait, Float> newMap = new EnumMap<>(traits);
-        newMap.entrySet().forEach(entry -> entry.setValue(function.apply(entry.getKey(), entry.getValue())));
-        return fromEntries(newMap.entrySet().stream()).orElse(EMPTY);
+        float[] values = new float[this.values.length];
+        for (int i = 0; i < values.length; i++) {
+            if (this.values[i] != 0) {
+                values[i] = function.apply(TRAITS[i], this.values[i]);
+            }
+        }
+        return wrap(values);
     }
 
     public boolean isEmpty() {
-        return traits.isEmpty();
+        return size == 0;
     }
 
     public boolean isPresent() {
@@ -113,9 +192,12 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
     }
 
     public boolean includes(SpellTraits other) {
-        return other.stream().allMatch(pair -> {
-            return get(pair.getKey()) >= pair.getValue();
-        });
+        for (int i = 0; i < values.length; i++) {
+            if (other.values[i] != 0 && values[i] < other.values[i]) {
+                return false;
+            }
+        }
+        return true;
     }
 
     @Override
@@ -124,7 +206,10 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
     }
 
     public Set<Map.Entry<Trait, Float>> entries() {
-        return traits.entrySet();
+        if (entries == null) {
+            entries = new EntrySet();
+        }
+        return entries;
     }
 
     public Stream<Map.Entry<Trait, Float>> stream() {
@@ -132,7 +217,7 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
     }
 
     public float getOrDefault(Trait trait, float def) {
-        float i = traits.getOrDefault(trait, def);
+        float i = values[trait.ordinal()];
         return i == 0 ? def : i;
     }
 
@@ -154,31 +239,37 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
 
     public NbtCompound toNbt() {
         NbtCompound nbt = new NbtCompound();
-        traits.forEach((key, value) -> nbt.putFloat(key.getId().toString(), value));
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                nbt.putFloat(TRAITS[i].getId().toString(), values[i]);
+            }
+        }
         return nbt;
     }
 
     public void write(PacketByteBuf buf) {
-        buf.writeInt(traits.size());
-        traits.forEach((trait, value) -> {
-            buf.writeIdentifier(trait.getId());
-            buf.writeFloat(value);
-        });
+        buf.writeInt(size);
+        for (int i = 0; i < values.length; i++) {
+            if (values[i] != 0) {
+                buf.writeIdentifier(TRAITS[i].getId());
+                buf.writeFloat(values[i]);
+            }
+        }
     }
 
     @Override
     public String toString() {
-        return "SpellTraits[" + traits.entrySet().stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(",")) + "]";
+        return "SpellTraits[" + stream().map(e -> e.getKey() + "=" + e.getValue()).collect(Collectors.joining(",")) + "]";
     }
 
     @Override
     public int hashCode() {
-        return traits.hashCode();
+        return Arrays.hashCode(values);
     }
 
     @Override
     public boolean equals(Object other) {
-        return this == other || other instanceof SpellTraits && Objects.equals(traits, ((SpellTraits) other).traits);
+        return this == other || other instanceof SpellTraits && Arrays.equals(values, ((SpellTraits) other).values);
     }
 
     public static SpellTraits union(SpellTraits a, SpellTraits b) {
@@ -188,26 +279,33 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
         if (b.isEmpty()) {
             return a;
         }
-        Map<Trait, Float> traits = new HashMap<>();
-        combine(traits, a.traits);
-        combine(traits, b.traits);
-        return traits.isEmpty() ? EMPTY : new SpellTraits(traits);
+        float[] values = a.values.clone();
+        combine(values, b);
+        return wrap(values);
     }
 
     public static SpellTraits union(SpellTraits...many) {
-        Map<Trait, Float> traits = new HashMap<>();
+        float[] values = new float[TRAITS.length];
         for (SpellTraits i : many) {
-            combine(traits, i.traits);
+            combine(values, i);
         }
-        return traits.isEmpty() ? EMPTY : new SpellTraits(traits);
+        return wrap(values);
     }
 
     public static SpellTraits of(Inventory inventory) {
-        return of(InventoryUtil.stream(inventory).toList());
+        float[] values = new float[TRAITS.length];
+        for (int i = 0; i < inventory.size(); i++) {
+            combine(values, of(inventory.getStack(i)));
+        }
+        return wrap(values);
     }
 
     public static SpellTraits of(Collection<ItemStack> stacks) {
-        return fromEntries(stacks.stream().flatMap(a -> of(a).entries().stream())).orElse(SpellTraits.EMPTY);
+        float[] values = new float[TRAITS.length];
+        for (ItemStack stack : stacks) {
+            combine(values, of(stack));
+        }
+        return wrap(values);
     }
 
     public static SpellTraits of(ItemStack stack) {
@@ -236,7 +334,32 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
         if (!stack.hasNbt() || !stack.getNbt().contains("spell_traits", NbtElement.COMPOUND_TYPE)) {
             return Optional.empty();
         }
-        return fromNbt(stack.getNbt().getCompound("spell_traits"));
+        NbtCompound compound = stack.getNbt().getCompound("spell_traits");
+        // compounds are mutable, so a cached result is only valid while the contents still hash the same
+        int hash = compound.hashCode();
+        EmbeddedTraits cached = EMBEDDED_TRAITS.getIfPresent(compound);
+        if (cached != null && cached.hash() == hash) {
+            EMBEDDED_HITS.increment();
+            return cached.traits();
+        }
+        EMBEDDED_MISSES.increment();
+        Optional<SpellTraits> traits = fromNbt(compound);
+        EMBEDDED_TRAITS.put(compound, new EmbeddedTraits(hash, traits));
+        return traits;
+    }
+
+    /**
+     * The number of embedded trait lookups that were answered from the cache.
+     */
+    public static long getEmbeddedCacheHits() {
+        return EMBEDDED_HITS.sum();
+    }
+
+    /**
+     * The number of embedded trait lookups that had to be parsed from nbt.
+     */
+    public static long getEmbeddedCacheMisses() {
+        return EMBEDDED_MISSES.sum();
     }
 
     public ItemStack applyTo(ItemStack stack) {
@@ -268,13 +391,13 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
     }
 
     public static SpellTraits fromPacket(PacketByteBuf buf) {
-
-        Map<Trait, Float> entries = new HashMap<>();
         int count = buf.readInt();
         if (count <= 0) {
             return SpellTraits.EMPTY;
         }
 
+        float[] values = new float[TRAITS.length];
+
         for (int i = 0; i < count; i++) {
             Identifier id = buf.readIdentifier();
             float value = buf.readFloat();
@@ -283,13 +406,10 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
             }
 
             Trait.fromId(id).ifPresent(trait -> {
-                entries.compute(trait, (k, v) -> v == null ? value : (v + value));
+                values[trait.ordinal()] += value;
             });
         }
-        if (entries.isEmpty()) {
-            return SpellTraits.EMPTY;
-        }
-        return new SpellTraits(entries);
+        return wrap(values);
     }
 
     public static Optional<SpellTraits> fromString(String traits) {
@@ -328,41 +448,70 @@ public final class SpellTraits implements Iterable<Map.Entry<Trait, Float>> {
     }
 
     public static Optional<SpellTraits> fromEntries(Stream<Map.Entry<Trait, Float>> entries) {
-        var result = collect(entries);
-
-        if (result.isEmpty()) {
-            return Optional.empty();
-        }
-        return Optional.of(new SpellTraits(result));
+        float[] values = new float[TRAITS.length];
+        entries.filter(Objects::nonNull).forEach(entry -> {
+            values[entry.getKey().ordinal()] += entry.getValue();
+        });
+        return Optional.of(wrap(values)).filter(SpellTraits::isPresent);
     }
 
-    static void combine(Map<Trait, Float> to, Map<Trait, Float> from) {
+    static void combine(float[] to, SpellTraits from) {
         if (from.isEmpty()) {
             return;
         }
-        from.forEach((trait, value) -> {
-            if (value != 0) {
-                to.compute(trait, (k, v) -> v == null ? value : (v + value));
-            }
-        });
-    }
-
-    static Map<Trait, Float> collect(Stream<Map.Entry<Trait, Float>> entries) {
-        return entries.filter(Objects::nonNull)
-                .filter(e -> e.getValue() != 0)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, (a, b) -> a + b, () -> new EnumMap<>(Trait.class)));
+        for (int i = 0; i < to.length; i++) {
+            to[i] += from.values[i];
+        }
     }
 
     public static final class Builder {
-        private final Map<Trait, Float> traits = new EnumMap<>(Trait.class);
+        private final float[] values = new float[TRAITS.length];
 
         public Builder with(Trait trait, float amount) {
-            traits.put(trait, amount);
+            values[trait.ordinal()] = amount;
             return this;
         }
 
         public SpellTraits build() {
-            return fromEntries(traits.entrySet().stream()).orElse(SpellTraits.EMPTY);
+            return wrap(values.clone());
+        }
+    }
+
+    private record EmbeddedTraits(int hash, Optional<SpellTraits> traits) {}
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Trait, Float>> {
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public Iterator<Map.Entry<Trait, Float>> iterator() {
+            return new Iterator<>() {
+                private int index = next(0);
+
+                private int next(int from) {
+                    while (from < values.length && values[from] == 0) {
+                        from++;
+                    }
+                    return from;
+                }
+
+                @Override
+                public boolean hasNext() {
+                    return index < values.length;
+                }
+
+                @Override
+                public Map.Entry<Trait, Float> next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException();
+                    }
+                    Map.Entry<Trait, Float> entry = Map.entry(TRAITS[index], values[index]);
+                    index = next(index + 1);
+                    return entry;
+                }
+            };
         }
     }
 }
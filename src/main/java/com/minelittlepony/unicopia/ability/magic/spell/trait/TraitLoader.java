@@ -3,10 +3,14 @@ package com.minelittlepony.unicopia.ability.magic.spell.trait;
 import java.io.IOException;
 import java.io.InputStreamReader;
 import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
 import java.util.Objects;
 import java.util.Set;
+import java.util.function.Consumer;
 import java.util.function.Predicate;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
@@ -31,7 +35,9 @@ import net.minecraft.util.profiler.Profiler;
 import net.minecraft.item.Item;
 import net.minecraft.item.ItemConvertible;
 import net.minecraft.registry.Registries;
+import net.minecraft.registry.RegistryKey;
 import net.minecraft.registry.RegistryKeys;
+import net.minecraft.registry.entry.RegistryEntry;
 import net.minecraft.registry.tag.TagKey;
 
 public class TraitLoader extends SinglePreparationResourceReloader<Multimap<Identifier, TraitLoader.TraitStream>> implements IdentifiableResourceReloadListener {
@@ -84,22 +90,26 @@ public class TraitLoader extends SinglePreparationResourceReloader<Multimap<Iden
     protected void apply(Multimap<Identifier, TraitStream> prepared, ResourceManager manager, Profiler profiler) {
         profiler.startTick();
 
-        Set<Map.Entry<TraitStream.Key, SpellTraits>> newRegistry = prepared.values().stream()
+        profiler.push("index");
+        Map<TraitStream.Key, SpellTraits> keys = prepared.values().stream()
                 .flatMap(TraitStream::entries)
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, SpellTraits::union))
-                .entrySet();
-
-        SpellTraits.load(Registries.ITEM.getEntrySet().stream()
-                .map(entry -> Map.entry(
-                        entry.getKey().getValue(),
-                        newRegistry.stream()
-                            .filter(p -> p.getKey().test(entry.getValue()))
-                            .map(Map.Entry::getValue)
-                            .reduce(SpellTraits::union)
-                            .orElse(SpellTraits.EMPTY)
-                ))
+                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue, SpellTraits::union));
+
+        // resolve each key to the items it applies to, rather than testing every key against every item
+        Map<Identifier, List<SpellTraits>> matches = new HashMap<>();
+        keys.forEach((key, traits) -> key.forEachItem(id -> matches.computeIfAbsent(id, i -> new ArrayList<>()).add(traits)));
+        profiler.pop();
+
+        profiler.push("merge");
+        Map<Identifier, SpellTraits> newRegistry = matches.entrySet().parallelStream()
+                .map(entry -> Map.entry(entry.getKey(), SpellTraits.union(entry.getValue().toArray(SpellTraits[]::new))))
                 .filter(entry -> !entry.getValue().isEmpty())
-                .collect(Collectors.toMap(Map.Entry::getKey, Map.Entry::getValue)));
+                .collect(Collectors.toConcurrentMap(Map.Entry::getKey, Map.Entry::getValue));
+        profiler.pop();
+
+        profiler.push("load");
+        SpellTraits.load(newRegistry);
+        profiler.pop();
 
         profiler.endTick();
     }
@@ -152,6 +162,11 @@ public class TraitLoader extends SinglePreparationResourceReloader<Multimap<Iden
         }
 
         interface Key extends Predicate<ItemConvertible> {
+            /**
+             * Calls the consumer with the id of every registered item this key applies to.
+             */
+            void forEachItem(Consumer<Identifier> consumer);
+
             static Key of(String s) {
                 return s.startsWith("#") ? new Tag(TagKey.of(RegistryKeys.ITEM, Identifier.tryParse(s.substring(1)))) : new Id(Identifier.tryParse(s));
             }
@@ -162,6 +177,13 @@ public class TraitLoader extends SinglePreparationResourceReloader<Multimap<Iden
                 public boolean test(ItemConvertible item) {
                     return item.asItem().getRegistryEntry().isIn(tag);
                 }
+
+                @Override
+                public void forEachItem(Consumer<Identifier> consumer) {
+                    for (RegistryEntry<Item> entry : Registries.ITEM.iterateEntries(tag)) {
+                        entry.getKey().map(RegistryKey::getValue).ifPresent(consumer);
+                    }
+                }
             }
 
             record Id(Identifier id) implements Key {
@@ -169,6 +191,13 @@ public class TraitLoader extends SinglePreparationResourceReloader<Multimap<Iden
                 public boolean test(ItemConvertible item) {
                     return Objects.equals(id, Registries.ITEM.getId(item.asItem()));
                 }
+
+                @Override
+                public void forEachItem(Consumer<Identifier> consumer) {
+                    if (id != null && Registries.ITEM.containsId(id)) {
+                        consumer.accept(id);
+                    }
+                }
             }
         }
     }
@@ -1,10 +1,15 @@
 package com.minelittlepony.unicopia.block.cloud;
 
+import java.util.Map;
+import java.util.function.Supplier;
+
 import org.jetbrains.annotations.Nullable;
 
+import com.google.common.base.Suppliers;
 import com.minelittlepony.unicopia.EquineContext;
 import com.minelittlepony.unicopia.entity.player.Pony;
 
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.block.ShapeContext;
@@ -29,6 +34,14 @@ import net.minecraft.world.World;
 public class CloudBlock extends Block implements CloudLike {
     protected final boolean meltable;
 
+    private final Supplier<Map<BlockState, VoxelShape>> shapes = Suppliers.memoize(() -> {
+        Map<BlockState, VoxelShape> shapes = new Reference2ObjectOpenHashMap<>();
+        for (BlockState state : getStateManager().getStates()) {
+            shapes.put(state, getOutlineShape(state, EmptyBlockView.INSTANCE, BlockPos.ORIGIN, ShapeContext.absent(), EquineContext.ABSENT));
+        }
+        return shapes;
+    });
+
     public CloudBlock(Settings settings, boolean meltable) {
         super((meltable ? settings.ticksRandomly() : settings).nonOpaque());
         this.meltable = meltable;
@@ -113,17 +126,20 @@ public class CloudBlock extends Block implements CloudLike {
 
     @Override
     public final VoxelShape getOutlineShape(BlockState state, BlockView world, BlockPos pos, ShapeContext context) {
-        EquineContext equineContext = EquineContext.of(context);
-        if (!canInteract(state, world, pos, equineContext)) {
+        if (!canInteract(state, world, pos, EquineContext.of(context))) {
             return VoxelShapes.empty();
         }
-        return getOutlineShape(state, world, pos, context, equineContext);
+        return getShape(state);
     }
 
     @Override
     @Deprecated
     public final VoxelShape getCullingShape(BlockState state, BlockView world, BlockPos pos) {
-        return getOutlineShape(state, world, pos, ShapeContext.absent(), EquineContext.ABSENT);
+        return getShape(state);
+    }
+
+    private VoxelShape getShape(BlockState state) {
+        return shapes.get().getOrDefault(state, VoxelShapes.fullCube());
     }
 
     @Override
@@ -166,6 +182,11 @@ public class CloudBlock extends Block implements CloudLike {
         return true;
     }
 
+    /**
+     * The shape of this block for entities that can interact with clouds.
+     * <p>
+     * Shapes are computed once per block state and cached, so they may only depend on the state.
+     */
     protected VoxelShape getOutlineShape(BlockState state, BlockView world, BlockPos pos, ShapeContext context, EquineContext equineContext) {
         return VoxelShapes.fullCube();
     }
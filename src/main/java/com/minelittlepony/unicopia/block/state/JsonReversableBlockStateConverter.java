@@ -8,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 
 import com.google.gson.*;
 
+import net.minecraft.block.Block;
 import net.minecraft.block.BlockState;
 import net.minecraft.util.JsonHelper;
 import net.minecraft.world.World;
@@ -19,6 +20,13 @@ public class JsonReversableBlockStateConverter implements ReversableBlockStateCo
     @Nullable
     private ReversableBlockStateConverter inverse;
 
+    /**
+     * Lookup of the first matching entry for every block state, indexed by raw state id.
+     * Built lazily since tags are not yet bound when the state maps are loaded.
+     */
+    @Nullable
+    private volatile BlockStateConverter[] compiled;
+
     public JsonReversableBlockStateConverter(JsonElement json) {
         this(new ArrayList<>(), null);
         json.getAsJsonArray().forEach(entry -> {
@@ -33,15 +41,46 @@ public class JsonReversableBlockStateConverter implements ReversableBlockStateCo
 
     @Override
     public boolean canConvert(@Nullable BlockState state) {
-        return entries.stream().anyMatch(entry -> entry.canConvert(state));
+        return state != null && getEntry(state) != null;
     }
 
     @Override
     public @NotNull BlockState getConverted(World world, @NotNull BlockState state) {
-        return entries.stream().filter(entry -> entry.canConvert(state))
-                .findFirst()
-                .map(entry -> entry.getConverted(world, state))
-                .orElse(state);
+        BlockStateConverter entry = getEntry(state);
+        return entry == null ? state : entry.getConverted(world, state);
+    }
+
+    @Nullable
+    private BlockStateConverter getEntry(BlockState state) {
+        BlockStateConverter[] compiled = this.compiled;
+        if (compiled == null) {
+            this.compiled = compiled = compile();
+        }
+        int id = Block.getRawIdFromState(state);
+        return id >= 0 && id < compiled.length ? compiled[id] : null;
+    }
+
+    private BlockStateConverter[] compile() {
+        BlockStateConverter[] compiled = new BlockStateConverter[Block.STATE_IDS.size()];
+        for (BlockState state : Block.STATE_IDS) {
+            for (BlockStateConverter entry : entries) {
+                if (entry.canConvert(state)) {
+                    compiled[Block.getRawIdFromState(state)] = entry;
+                    break;
+                }
+            }
+        }
+        return compiled;
+    }
+
+    /**
+     * Discards the compiled lookup tables, for when the tags they were built from have changed.
+     */
+    public void invalidate() {
+        compiled = null;
+        if (inverse instanceof JsonReversableBlockStateConverter i && i.compiled != null) {
+            i.invalidate();
+        }
     }
 
     @Override
@@ -91,6 +91,14 @@ public class StateMapLoader extends JsonDataLoader implements IdentifiableResour
         ));
     }
 
+    public void onTagsLoaded() {
+        converters.values().forEach(converter -> {
+            if (converter instanceof JsonReversableBlockStateConverter c) {
+                c.invalidate();
+            }
+        });
+    }
+
     static class Indirect<T extends BlockStateConverter> implements ReversableBlockStateConverter {
         private final Identifier id;
         private final BlockStateConverter inverse;
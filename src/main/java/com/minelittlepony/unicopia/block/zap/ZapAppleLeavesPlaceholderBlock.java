@@ -4,9 +4,7 @@ import com.minelittlepony.unicopia.server.world.ZapAppleStageStore;
 import com.minelittlepony.unicopia.server.world.ZapAppleStageStore.Stage;
 
 import net.minecraft.block.*;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.math.*;
-import net.minecraft.util.math.random.Random;
 import net.minecraft.world.World;
 
 public class ZapAppleLeavesPlaceholderBlock extends AirBlock implements ZapStagedBlock {
@@ -27,8 +25,10 @@ public class ZapAppleLeavesPlaceholderBlock extends AirBlock implements ZapStage
 
     @Deprecated
     @Override
-    public void scheduledTick(BlockState state, ServerWorld world, BlockPos pos, Random random) {
-        super.scheduledTick(state, world, pos, random);
-        tryAdvanceStage(state, world, pos, random);
+    public void onStateReplaced(BlockState state, World world, BlockPos pos, BlockState newState, boolean moved) {
+        super.onStateReplaced(state, world, pos, newState, moved);
+        if (!newState.isOf(state.getBlock())) {
+            removeStage(world, pos);
+        }
     }
 }
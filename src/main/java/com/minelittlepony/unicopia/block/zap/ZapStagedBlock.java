@@ -18,26 +18,33 @@ public interface ZapStagedBlock {
         if (!(world instanceof ServerWorld sw)) {
             return;
         }
-        ZapAppleStageStore.Stage currentStage = ZapAppleStageStore.get(sw).getStage();
+        ZapAppleStageStore store = ZapAppleStageStore.get(sw);
+        ZapAppleStageStore.Stage currentStage = store.getStage();
         if (currentStage != getStage(state)) {
-            state = getState(currentStage);
-            world.setBlockState(pos, state);
+            world.setBlockState(pos, getState(currentStage));
+        } else {
+            store.addLeaves(pos);
+        }
+    }
+
+    default void removeStage(World world, BlockPos pos) {
+        if (world instanceof ServerWorld sw) {
+            ZapAppleStageStore.get(sw).removeLeaves(pos);
         }
-        world.scheduleBlockTick(pos, state.getBlock(), 1);
     }
 
-    default void tryAdvanceStage(BlockState state, ServerWorld world, BlockPos pos, Random random) {
+    /**
+     * Moves this block to the world's current stage.
+     * Called by the {@link ZapAppleStageStore} when it decides it's time for this block to transition.
+     */
+    default void advanceStage(BlockState state, ServerWorld world, BlockPos pos, Random random) {
         ZapAppleStageStore store = ZapAppleStageStore.get(world);
         ZapAppleStageStore.Stage currentStage = store.getStage();
-        if (!world.isDay() && currentStage != getStage(state)) {
-            int transitionRate = getTransitionRate(currentStage);
-            if (transitionRate == 0 || random.nextInt(transitionRate) == 0) {
-                state = getState(currentStage);
-                world.setBlockState(pos, state);
-                onStageChanged(store, currentStage, world, state, pos, random);
-            }
+        if (currentStage != getStage(state)) {
+            state = getState(currentStage);
+            world.setBlockState(pos, state);
+            onStageChanged(store, currentStage, world, state, pos, random);
         }
-        world.scheduleBlockTick(pos, state.getBlock(), 1);
     }
 
     default int getTransitionRate(ZapAppleStageStore.Stage stage) {
@@ -76,6 +76,15 @@ public final class RenderLayers extends RenderLayer {
             .build(false));
     });
 
+    /**
+     * Layers used by spell effects that get their own buffer in the entity vertex consumers.
+     * Geometry drawn with them is batched across all entities and drawn once at the end
+     * instead of being flushed whenever something else switches layers.
+     */
+    public static List<RenderLayer> getSharedLayers() {
+        return List.of(MAGIC_NO_COLOR, MAGIC_SHIELD, MAGIC_COLORED, getEndGateway(), getEndPortal());
+    }
+
     public static RenderLayer getCrumbling(int stage) {
         return BLOCK_DESTRUCTION_STAGE_LAYERS.get(stage);
     }
@@ -1,21 +1,46 @@
 package com.minelittlepony.unicopia.client.render.model;
 
 import java.util.List;
+import java.util.Map;
 
+import org.jetbrains.annotations.Nullable;
 import org.joml.Matrix4f;
+import org.joml.Matrix4fc;
 import org.joml.Vector4f;
 
 import com.minelittlepony.unicopia.client.render.RenderUtil;
+import com.mojang.blaze3d.systems.RenderSystem;
 
 import it.unimi.dsi.fastutil.objects.ObjectArrayList;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.client.MinecraftClient;
+import net.minecraft.client.gl.ShaderProgram;
+import net.minecraft.client.gl.VertexBuffer;
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.LightmapTextureManager;
+import net.minecraft.client.render.OverlayTexture;
+import net.minecraft.client.render.RenderLayer;
 import net.minecraft.client.render.VertexConsumer;
+import net.minecraft.client.render.VertexConsumerProvider;
+import net.minecraft.client.render.VertexFormat;
 import net.minecraft.client.util.math.MatrixStack;
 
 public class BakedModel {
+    /**
+     * Shader mods replace the vanilla programs and expect all geometry to come through the regular buffers,
+     * so models are never drawn from vertex buffers while one is installed.
+     */
+    private static final boolean SHADER_MOD_LOADED = FabricLoader.getInstance().isModLoaded("iris")
+            || FabricLoader.getInstance().isModLoaded("oculus")
+            || FabricLoader.getInstance().isModLoaded("optifabric");
+
     protected final List<RenderUtil.Vertex> vertices = new ObjectArrayList<>();
 
     private final Matrix4f textureMatrix = new Matrix4f();
 
+    private final Map<VertexFormat, Map<List<RenderUtil.Vertex>, VertexBuffer>> uploadedMeshes = new Reference2ObjectOpenHashMap<>();
+
     public Matrix4f getTextureMatrix() {
         return textureMatrix;
     }
@@ -41,7 +66,7 @@ public class BakedModel {
         matrices.push();
         matrices.scale(scale, scale, scale);
         Matrix4f positionmatrix = matrices.peek().getPositionMatrix();
-        for (RenderUtil.Vertex vertex : vertices) {
+        for (RenderUtil.Vertex vertex : getVertices(positionmatrix)) {
             Vector4f pos = vertex.position(positionmatrix);
             Vector4f tex = vertex.texture(textureMatrix);
             buffer.vertex(pos.x, pos.y, pos.z, r, g, b, a, tex.x, tex.y, overlay, light, 0, 0, 0);
@@ -59,7 +84,7 @@ public class BakedModel {
         matrices.push();
         matrices.scale(scale, scale, scale);
         Matrix4f positionmatrix = matrices.peek().getPositionMatrix();
-        for (RenderUtil.Vertex vertex : vertices) {
+        for (RenderUtil.Vertex vertex : getVertices(positionmatrix)) {
             Vector4f pos = vertex.position(positionmatrix);
             Vector4f tex = vertex.texture(textureMatrix);
             buffer.vertex(pos.x, pos.y, pos.z).texture(tex.x, tex.y).color(r, g, b, a).light(getLightAt(pos, light)).next();
@@ -68,6 +93,80 @@ public class BakedModel {
         textureMatrix.identity();
     }
 
+    /**
+     * Draws this model in an opaque layer from a vertex buffer that is uploaded once and kept on the GPU,
+     * so none of its vertices have to be transformed or copied on the CPU.
+     * <p>
+     * The model is drawn immediately instead of being batched with the rest of the layer, so this is only
+     * for layers that don't need sorting. The model is always drawn at full brightness with no overlay,
+     * since those are baked into the uploaded mesh, and the colour is applied through the shader's colour modulator.
+     * <p>
+     * Falls back to {@link #render(MatrixStack, VertexConsumer, int, int, float, float, float, float, float)}
+     * with the same brightness and overlay when a shader mod is installed, the texture matrix has been changed,
+     * or the geometry isn't going into the world's entity buffers (like when rendering an outline).
+     */
+    public final void renderOpaque(MatrixStack matrices, VertexConsumerProvider vertices, RenderLayer layer, float scale, float r, float g, float b, float a) {
+        if (SHADER_MOD_LOADED
+                || layer.getDrawMode() != VertexFormat.DrawMode.QUADS
+                || (textureMatrix.properties() & Matrix4fc.PROPERTY_IDENTITY) == 0
+                || vertices != MinecraftClient.getInstance().getBufferBuilders().getEntityVertexConsumers()) {
+            render(matrices, vertices.getBuffer(layer), LightmapTextureManager.MAX_LIGHT_COORDINATE, OverlayTexture.DEFAULT_UV, scale, r, g, b, a);
+            return;
+        }
+
+        scale = Math.abs(scale);
+        if (scale < 0.001F) {
+            return;
+        }
+
+        matrices.push();
+        matrices.scale(scale, scale, scale);
+        Matrix4f positionmatrix = matrices.peek().getPositionMatrix();
+        VertexBuffer buffer = getUploadedMesh(layer, getVertices(positionmatrix));
+
+        layer.startDrawing();
+        @Nullable
+        ShaderProgram program = RenderSystem.getShader();
+        if (program != null) {
+            RenderSystem.setShaderColor(r, g, b, a);
+            buffer.bind();
+            buffer.draw(new Matrix4f(RenderSystem.getModelViewMatrix()).mul(positionmatrix), RenderSystem.getProjectionMatrix(), program);
+            VertexBuffer.unbind();
+            RenderSystem.setShaderColor(1, 1, 1, 1);
+        }
+        layer.endDrawing();
+        matrices.pop();
+    }
+
+    private VertexBuffer getUploadedMesh(RenderLayer layer, List<RenderUtil.Vertex> mesh) {
+        return uploadedMeshes.computeIfAbsent(layer.getVertexFormat(), f -> new Reference2ObjectOpenHashMap<>()).computeIfAbsent(mesh, m -> {
+            VertexFormat format = layer.getVertexFormat();
+            BufferBuilder builder = new BufferBuilder(mesh.size() * format.getVertexSizeByte());
+            builder.begin(layer.getDrawMode(), format);
+            for (RenderUtil.Vertex vertex : mesh) {
+                builder.vertex(
+                        vertex.position().x, vertex.position().y, vertex.position().z,
+                        1, 1, 1, 1,
+                        vertex.texture().x, vertex.texture().y,
+                        OverlayTexture.DEFAULT_UV, LightmapTextureManager.MAX_LIGHT_COORDINATE,
+                        0, 1, 0
+                );
+            }
+            VertexBuffer buffer = new VertexBuffer(VertexBuffer.Usage.STATIC);
+            buffer.bind();
+            buffer.upload(builder.end());
+            VertexBuffer.unbind();
+            return buffer;
+        });
+    }
+
+    /**
+     * Gets the vertices to draw for a model positioned with the given matrix.
+     */
+    protected List<RenderUtil.Vertex> getVertices(Matrix4f positionMatrix) {
+        return vertices;
+    }
+
     protected int getLightAt(Vector4f pos, int light) {
         return light;
     }
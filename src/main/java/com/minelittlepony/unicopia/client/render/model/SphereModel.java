@@ -1,25 +1,77 @@
 package com.minelittlepony.unicopia.client.render.model;
 
+import java.util.ArrayList;
+import java.util.List;
 import java.util.function.Consumer;
 
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
 import org.joml.Vector4f;
 
 import com.minelittlepony.unicopia.client.gui.DrawableUtil;
+import com.minelittlepony.unicopia.client.render.RenderUtil;
 
+import it.unimi.dsi.fastutil.objects.ObjectArrayList;
 import net.minecraft.util.math.MathHelper;
 
 public class SphereModel extends BakedModel {
-    public static final SphereModel SPHERE = new SphereModel(40, 40, DrawableUtil.TAU);
-    public static final SphereModel DISK = new SphereModel(40, 2, DrawableUtil.PI);
+    private static final Vector3f TEMP_VECTOR = new Vector3f();
+
+    public static final SphereModel SPHERE = new SphereModel(40, 40, DrawableUtil.TAU, 20, 8);
+    public static final SphereModel DISK = new SphereModel(40, 2, DrawableUtil.PI, 20, 8);
     public static final SphereModel HEXAGON = new SphereModel(3, 2, DrawableUtil.TAU);
     public static final SphereModel PRISM = new SphereModel(6, 6, DrawableUtil.TAU);
 
+    /**
+     * The apparent size (radius over distance to the camera) below which each lower level of detail is used.
+     */
+    private static final float[] DETAIL_THRESHOLDS = { 0.08F, 0.02F };
+
+    private final List<List<RenderUtil.Vertex>> detailLevels = new ArrayList<>();
+
     public SphereModel(double rings, double sectors, double azimuthRange) {
         double zenithIncrement = DrawableUtil.PI / rings;
         double azimuthIncrement = DrawableUtil.TAU / sectors;
         compileVertices(azimuthRange, zenithIncrement, azimuthIncrement, this::addVertex);
     }
 
+    /**
+     * Creates a sphere with additional lower detail tessellations that are drawn when it appears small on screen.
+     *
+     * @param detailLevels The number of rings for each lower level of detail. Sectors are reduced in proportion.
+     */
+    public SphereModel(double rings, double sectors, double azimuthRange, int...detailLevels) {
+        this(rings, sectors, azimuthRange);
+        this.detailLevels.add(vertices);
+        for (int i = 0; i < detailLevels.length && i < DETAIL_THRESHOLDS.length; i++) {
+            List<RenderUtil.Vertex> level = new ObjectArrayList<>();
+            compileVertices(azimuthRange,
+                    DrawableUtil.PI / detailLevels[i],
+                    DrawableUtil.TAU / Math.max(2, Math.round(sectors * detailLevels[i] / rings)),
+                    v -> level.add(new RenderUtil.Vertex(v.x, v.y, v.z, (v.x + 1) * 0.5F, (v.z + 1) * 0.5F))
+            );
+            this.detailLevels.add(level);
+        }
+    }
+
+    @Override
+    protected List<RenderUtil.Vertex> getVertices(Matrix4f positionMatrix) {
+        if (detailLevels.isEmpty()) {
+            return vertices;
+        }
+        // the translation of the position matrix is the model's offset from the camera
+        float distance = positionMatrix.getTranslation(TEMP_VECTOR).length();
+        if (distance < 1) {
+            return vertices;
+        }
+        float apparentSize = positionMatrix.getScale(TEMP_VECTOR).x / distance;
+        int level = 0;
+        while (level < DETAIL_THRESHOLDS.length && level + 1 < detailLevels.size() && apparentSize < DETAIL_THRESHOLDS[level]) {
+            level++;
+        }
+        return detailLevels.get(level);
+    }
+
     static void compileVertices(double azimuthRange, double zenithIncrement, double azimuthIncrement, Consumer<Vector4f> collector) {
         Vector4f vector = new Vector4f();
         for (double zenith = 0; zenith < DrawableUtil.PI; zenith += zenithIncrement) {
@@ -46,7 +46,7 @@ public class DarkVortexSpellRenderer extends SpellRenderer<DarkVortexSpell> {
         matrices.push();
         matrices.translate(0, 2 + radius, 0);
 
-        SphereModel.SPHERE.render(matrices, vertices.getBuffer(RenderLayers.getSolid()), light, 1, Math.min(radius * 0.6F, absDistance * 0.1F), 0, 0, 0, 1);
+        SphereModel.SPHERE.renderOpaque(matrices, vertices, RenderLayers.getSolid(), Math.min(radius * 0.6F, absDistance * 0.1F), 0, 0, 0, 1);
 
         matrices.push();
         matrices.multiply(RotationAxis.POSITIVE_Z.rotationDegrees(90));
@@ -74,7 +74,7 @@ public class DarkVortexSpellRenderer extends SpellRenderer<DarkVortexSpell> {
             matrices.pop();
         }
 
-        SphereModel.DISK.render(matrices, vertices.getBuffer(RenderLayers.getEndPortal()), light, 1, radius * 0.5F, 1, 0.5F, 0, 1);
+        SphereModel.DISK.renderOpaque(matrices, vertices, RenderLayers.getEndPortal(), radius * 0.5F, 1, 0.5F, 0, 1);
 
         if (radius > 0.3F && absDistance > radius) {
             radius *= Math.min(2, 3 + radius);
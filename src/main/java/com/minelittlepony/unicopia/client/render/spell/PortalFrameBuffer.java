@@ -31,7 +31,6 @@ import net.minecraft.client.option.Perspective;
 import net.minecraft.client.render.BackgroundRenderer;
 import net.minecraft.client.render.BufferBuilder;
 import net.minecraft.client.render.Camera;
-import net.minecraft.client.render.Frustum;
 import net.minecraft.client.render.Tessellator;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.render.VertexFormat;
@@ -51,6 +50,8 @@ class PortalFrameBuffer implements AutoCloseable {
             .<UUID, PortalFrameBuffer>removalListener(n -> n.getValue().close())
             .build(CacheLoader.from(PortalFrameBuffer::new));
 
+    private static final float MIN_RESOLUTION_SCALE = 0.125F;
+
     private static int recursionCount;
 
     @Nullable
@@ -75,10 +76,10 @@ class PortalFrameBuffer implements AutoCloseable {
 
     private final MinecraftClient client = MinecraftClient.getInstance();
 
-    private boolean pendingDraw;
+    private long lastUpdateTime;
+    private long estimatedCost;
 
-    @Nullable
-    private Frustum frustum;
+    private float resolutionScale = 1;
 
     PortalFrameBuffer(UUID id) { }
 
@@ -114,33 +115,53 @@ class PortalFrameBuffer implements AutoCloseable {
         }
     }
 
-    public void build(PortalSpell spell, Caster<?> caster, EntityReference.EntityValues<Entity> target) {
+    boolean hasFrame() {
+        return framebuffer != null;
+    }
 
-        long refreshRate = Unicopia.getConfig().fancyPortalRefreshRate.get();
-        if (refreshRate > 0 && framebuffer != null && System.currentTimeMillis() % refreshRate != 0) {
-            return;
-        }
+    long getLastUpdateTime() {
+        return lastUpdateTime;
+    }
 
-        if (pendingDraw && recursionCount > Math.max(0, Unicopia.getConfig().maxPortalRecursion.get())) {
-            innerBuild(spell, caster, target);
+    /**
+     * The (smoothed) time in nanoseconds it has taken to draw this portal's view.
+     */
+    long getEstimatedCost() {
+        return estimatedCost;
+    }
+
+    void onUpdated(long time, long cost) {
+        lastUpdateTime = time;
+        estimatedCost = estimatedCost == 0 ? cost : (estimatedCost * 3 + cost) / 4;
+    }
+
+    /**
+     * Requests this portal's view to be redrawn.
+     *
+     * @param distance The distance from the camera to the portal
+     * @param coverage The portion of the screen's height covered by the portal, from 0 to 1
+     */
+    public void build(PortalSpell spell, Caster<?> caster, EntityReference.EntityValues<Entity> target, float distance, float coverage) {
+        if (recursionCount > 0) {
             return;
         }
 
-        if (pendingDraw) {
+        long refreshRate = Unicopia.getConfig().fancyPortalRefreshRate.get();
+        if (refreshRate > 0 && framebuffer != null && System.nanoTime() - lastUpdateTime < refreshRate * 1_000_000L) {
             return;
         }
-        pendingDraw = true;
-        if (recursionCount > 0) {
+
+        // rounded to eighths so the buffer isn't resized every time the portal moves slightly
+        float scale = MathHelper.clamp(MathHelper.ceil(coverage * 8) / 8F, MIN_RESOLUTION_SCALE, 1);
+
+        PortalRenderScheduler.INSTANCE.request(this, distance, coverage, () -> {
+            resolutionScale = scale;
             innerBuild(spell, caster, target);
-        } else {
-            ((MixinMinecraftClient)client).getRenderTaskQueue().add(() -> innerBuild(spell, caster, target));
-        }
+        });
     }
 
     private void innerBuild(PortalSpell spell, Caster<?> caster, EntityReference.EntityValues<Entity> target) {
         synchronized (client) {
-            pendingDraw = false;
-
             if (recursionCount > 0) {
                 return;
             }
@@ -168,7 +189,11 @@ class PortalFrameBuffer implements AutoCloseable {
                 cameraEntity.setPitch(pitch);
                 cameraEntity.setYaw(yaw);
 
-                drawWorld(cameraEntity, 400, 400);
+                Window window = client.getWindow();
+                drawWorld(cameraEntity,
+                        Math.max(1, (int)(window.getFramebufferWidth() * resolutionScale)),
+                        Math.max(1, (int)(window.getFramebufferHeight() * resolutionScale))
+                );
 
                 fov.setValue(originalFov);
             } finally {
@@ -184,9 +209,6 @@ class PortalFrameBuffer implements AutoCloseable {
         int i = window.getFramebufferWidth();
         int j = window.getFramebufferHeight();
 
-        width = i;
-        height = j;
-
         Perspective perspective = client.options.getPerspective();
         MatrixStack view = RenderSystem.getModelViewStack();
 
@@ -205,6 +227,8 @@ class PortalFrameBuffer implements AutoCloseable {
                 framebuffer = new SimpleFramebuffer(width, height, true, MinecraftClient.IS_SYSTEM_MAC);
                 framebuffer.setClearColor(0, 0, 0, 0);
                 framebuffer.clear(MinecraftClient.IS_SYSTEM_MAC);
+            } else if (framebuffer.textureWidth != width || framebuffer.textureHeight != height) {
+                framebuffer.resize(width, height, MinecraftClient.IS_SYSTEM_MAC);
             }
 
             view.push();
@@ -0,0 +1,127 @@
+package com.minelittlepony.unicopia.client.render.spell;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import com.minelittlepony.unicopia.Unicopia;
+import com.minelittlepony.unicopia.mixin.client.MixinMinecraftClient;
+
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
+import net.minecraft.client.MinecraftClient;
+
+/**
+ * Decides which portals get to redraw their view each frame.
+ * <p>
+ * Portals ask for an update while they are being rendered and all of the requests are run together
+ * at the start of the next frame, most important first, until that frame's time budget runs out.
+ * Portals that don't fit keep showing the last frame they drew. A portal is more important the closer it is,
+ * the more of the screen it covers, and the longer it has been since it was last updated.
+ * <p>
+ * Time spent over the budget is carried over to the following frames, so a portal that costs more than
+ * a whole frame's budget is still drawn, just less often.
+ */
+public class PortalRenderScheduler {
+    public static final PortalRenderScheduler INSTANCE = new PortalRenderScheduler();
+
+    private static final long NANOS_PER_MILLI = 1_000_000L;
+    private static final float SMOOTHING = 0.1F;
+    private static final long DEBUG_TIMEOUT = 1000 * NANOS_PER_MILLI;
+
+    private final MinecraftClient client = MinecraftClient.getInstance();
+
+    private final Map<PortalFrameBuffer, Request> requests = new Reference2ObjectOpenHashMap<>();
+
+    private boolean flushScheduled;
+    private boolean flushing;
+
+    private long debt;
+
+    private long lastFlushTime;
+    private int lastRequested;
+    private int lastUpdated;
+    private float averageCost;
+
+    /**
+     * Asks for a portal's view to be updated at the start of the next frame.
+     *
+     * @param buffer   The portal's frame buffer
+     * @param distance The distance from the camera to the portal
+     * @param coverage The portion of the screen's height covered by the portal, from 0 to 1
+     * @param task     The task that draws the portal's view
+     */
+    void request(PortalFrameBuffer buffer, float distance, float coverage, Runnable task) {
+        if (flushing) {
+            return;
+        }
+
+        requests.put(buffer, new Request(buffer, getPriority(buffer, distance, coverage), task));
+
+        if (!flushScheduled) {
+            flushScheduled = true;
+            ((MixinMinecraftClient)client).getRenderTaskQueue().add(this::flush);
+        }
+    }
+
+    private float getPriority(PortalFrameBuffer buffer, float distance, float coverage) {
+        if (!buffer.hasFrame()) {
+            return Float.MAX_VALUE;
+        }
+        float staleness = (System.nanoTime() - buffer.getLastUpdateTime()) / (float)NANOS_PER_MILLI;
+        return (1 + staleness / 50F) * (0.05F + coverage) / (1 + distance / 16F);
+    }
+
+    private void flush() {
+        flushScheduled = false;
+
+        List<Request> queue = new ArrayList<>(requests.values());
+        requests.clear();
+        queue.sort((a, b) -> Float.compare(b.priority(), a.priority()));
+
+        long budget = Math.max(0, Unicopia.getConfig().portalFrameBudget.get()) * NANOS_PER_MILLI;
+        long start = System.nanoTime();
+        int updated = 0;
+
+        flushing = true;
+        try {
+            for (Request request : queue) {
+                long now = System.nanoTime();
+                if (budget > 0 && (updated > 0 || debt > 0) && (now - start) + request.buffer().getEstimatedCost() > budget - debt) {
+                    continue;
+                }
+
+                request.task().run();
+                request.buffer().onUpdated(now, System.nanoTime() - now);
+                updated++;
+            }
+        } finally {
+            flushing = false;
+        }
+
+        long cost = System.nanoTime() - start;
+        debt = budget > 0 ? Math.max(0, debt + cost - budget) : 0;
+
+        lastFlushTime = start;
+        lastRequested = queue.size();
+        lastUpdated = updated;
+        averageCost += (cost - averageCost) * SMOOTHING;
+    }
+
+    /**
+     * Adds a summary of the time spent drawing portals to the debug screen.
+     */
+    public void appendDebugText(List<String> lines) {
+        if (System.nanoTime() - lastFlushTime > DEBUG_TIMEOUT) {
+            return;
+        }
+        lines.add("");
+        lines.add(String.format("Portals: %d/%d updated, %.2fms (budget %dms, debt %.2fms)",
+                lastUpdated, lastRequested,
+                averageCost / NANOS_PER_MILLI,
+                Unicopia.getConfig().portalFrameBudget.get(),
+                debt / (float)NANOS_PER_MILLI
+        ));
+    }
+
+    private record Request(PortalFrameBuffer buffer, float priority, Runnable task) {}
+}
@@ -1,5 +1,8 @@
 package com.minelittlepony.unicopia.client.render.spell;
 
+import org.joml.Matrix4f;
+import org.joml.Vector3f;
+
 import com.minelittlepony.unicopia.Unicopia;
 import com.minelittlepony.unicopia.ability.magic.Caster;
 import com.minelittlepony.unicopia.ability.magic.spell.effect.PortalSpell;
@@ -10,6 +13,7 @@ import net.minecraft.client.MinecraftClient;
 import net.minecraft.client.render.VertexConsumer;
 import net.minecraft.client.render.VertexConsumerProvider;
 import net.minecraft.client.util.math.MatrixStack;
+import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.RotationAxis;
 
 public class PortalSpellRenderer extends SpellRenderer<PortalSpell> {
@@ -60,17 +64,21 @@ public class PortalSpellRenderer extends SpellRenderer<PortalSpell> {
             matrices.scale(grown, 1, grown);
             boolean inRange = MinecraftClient.getInstance().player.getPos().distanceTo(target.pos()) < MinecraftClient.getInstance().gameRenderer.getViewDistance();
 
+            Matrix4f position = matrices.peek().getPositionMatrix();
+            float distance = position.getTranslation(new Vector3f()).length();
+            float coverage = getScreenCoverage(position, distance);
+
             PortalFrameBuffer buffer = PortalFrameBuffer.unpool(target.uuid());
             if (buffer != null) {
                 if (inRange) {
-                    buffer.build(spell, caster, target);
+                    buffer.build(spell, caster, target, distance, coverage);
                 }
                 buffer.draw(matrices, vertices);
             }
             if (!inRange) {
                 buffer = PortalFrameBuffer.unpool(caster.asEntity().getUuid());
                 if (buffer != null) {
-                    buffer.build(spell, caster, new EntityReference.EntityValues<>(caster.asEntity()));
+                    buffer.build(spell, caster, new EntityReference.EntityValues<>(caster.asEntity()), distance, coverage);
                 }
             }
             matrices.pop();
@@ -78,4 +86,16 @@ public class PortalSpellRenderer extends SpellRenderer<PortalSpell> {
 
         matrices.pop();
     }
+
+    /**
+     * Estimates how much of the screen's height the portal's disk takes up, from 0 to 1.
+     */
+    private float getScreenCoverage(Matrix4f position, float distance) {
+        if (distance < 1) {
+            return 1;
+        }
+        float radius = 2 * position.getScale(new Vector3f()).x;
+        float halfHeight = distance * (float)Math.tan(client.options.getFov().getValue() * MathHelper.RADIANS_PER_DEGREE / 2F);
+        return MathHelper.clamp(radius / halfHeight, 0, 1);
+    }
 }
@@ -8,9 +8,11 @@ import java.util.stream.Stream;
 
 import org.jetbrains.annotations.Nullable;
 
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
 import com.minelittlepony.unicopia.Unicopia;
 import com.minelittlepony.unicopia.ability.magic.Caster;
-import com.minelittlepony.unicopia.ability.magic.SpellContainer.Operation;
+import com.minelittlepony.unicopia.ability.magic.SpellContainer;
 import com.minelittlepony.unicopia.ability.magic.spell.Spell;
 import com.minelittlepony.unicopia.ability.magic.spell.effect.SpellType;
 import com.minelittlepony.unicopia.entity.Living;
@@ -56,6 +58,11 @@ public class SpellEffectsRenderDispatcher implements SynchronousResourceReloader
     private Map<SpellType<?>, SpellRenderer<?>> renderers = Map.of();
     private final MinecraftClient client = MinecraftClient.getInstance();
 
+    /**
+     * The spells with a renderer for each caster, kept until the caster's spells change.
+     */
+    private final Cache<Caster<?>, Snapshot> snapshots = CacheBuilder.newBuilder().weakKeys().build();
+
     private SpellEffectsRenderDispatcher() {}
 
     @Override
@@ -72,8 +79,6 @@ public class SpellEffectsRenderDispatcher implements SynchronousResourceReloader
         var renderer = getRenderer(spell);
 
         if (renderer != SpellRenderer.DEFAULT) {
-            client.getBufferBuilders().getEntityVertexConsumers().draw();
-
             renderer.render(matrices, vertices, spell, caster, light, limbAngle, limbDistance, tickDelta, animationProgress, headYaw, headPitch);
         }
     }
@@ -83,10 +88,9 @@ public class SpellEffectsRenderDispatcher implements SynchronousResourceReloader
             return;
         }
 
-        caster.getSpellSlot().forEach(spell -> {
+        for (Spell spell : getRenderableSpells(caster)) {
             render(matrices, vertices, spell, caster, light, limbAngle, limbDistance, tickDelta, animationProgress, headYaw, headPitch);
-            return Operation.SKIP;
-        }, false);
+        }
 
         if (client.getEntityRenderDispatcher().shouldRenderHitboxes()
                 && !client.hasReducedDebugInfo()
@@ -96,9 +100,22 @@ public class SpellEffectsRenderDispatcher implements SynchronousResourceReloader
         }
     }
 
+    private List<Spell> getRenderableSpells(Caster<?> caster) {
+        SpellContainer slot = caster.getSpellSlot();
+        int version = slot.getVersion();
+        @Nullable
+        Snapshot snapshot = snapshots.getIfPresent(caster);
+        if (snapshot == null || snapshot.version() != version) {
+            snapshot = new Snapshot(version, slot.stream(false).filter(spell -> getRenderer(spell) != SpellRenderer.DEFAULT).toList());
+            snapshots.put(caster, snapshot);
+        }
+        return snapshot.spells();
+    }
+
     @Override
     public void reload(ResourceManager manager) {
         renderers = REGISTRY.entrySet().stream().collect(Collectors.toMap(Map.Entry::getKey, entry -> entry.getValue().create()));
+        snapshots.invalidateAll();
     }
 
     private void renderSpellDebugInfo(MatrixStack matrices, VertexConsumerProvider vertices, Caster<?> caster, int light) {
@@ -161,6 +178,8 @@ public class SpellEffectsRenderDispatcher implements SynchronousResourceReloader
         }
     }
 
+    private record Snapshot(int version, List<Spell> spells) {}
+
     public interface RenderDispatcherAccessor {
         boolean shouldRenderShadows();
     }
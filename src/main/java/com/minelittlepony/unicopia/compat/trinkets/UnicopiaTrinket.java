@@ -28,6 +28,7 @@ public class UnicopiaTrinket implements Trinket {
 
     @Override
     public void onEquip(ItemStack stack, SlotReference slot, LivingEntity entity) {
+        Living.getOrEmpty(entity).ifPresent(Living::onEquipmentChanged);
         if (entity.isSpectator() || stack.isEmpty()) {
             return;
         }
@@ -39,6 +40,7 @@ public class UnicopiaTrinket implements Trinket {
 
     @Override
     public void onUnequip(ItemStack stack, SlotReference slot, LivingEntity entity) {
+        Living.getOrEmpty(entity).ifPresent(Living::onEquipmentChanged);
         if (stack.getItem() instanceof ItemTracker.Trackable t) {
             Living<?> l = Living.living(entity);
             t.onUnequipped(l, l.getArmour().forceRemove(t));
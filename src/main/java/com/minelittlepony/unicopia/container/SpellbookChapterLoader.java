@@ -16,7 +16,7 @@ import com.minelittlepony.unicopia.ability.magic.spell.trait.Trait;
 import com.minelittlepony.unicopia.block.state.StateUtil;
 import com.minelittlepony.unicopia.client.gui.spellbook.SpellbookChapterList.*;
 import com.minelittlepony.unicopia.network.Channel;
-import com.minelittlepony.unicopia.network.MsgServerResources;
+import com.minelittlepony.unicopia.network.ServerResources;
 import com.minelittlepony.unicopia.util.Resources;
 import com.mojang.logging.LogUtils;
 import net.fabricmc.fabric.api.resource.IdentifiableResourceReloadListener;
@@ -57,9 +57,9 @@ public class SpellbookChapterLoader extends JsonDataLoader implements Identifiab
     public void sendUpdate(MinecraftServer server) {
         if (dirty) {
             dirty = false;
-            MsgServerResources msg = new MsgServerResources();
-            server.getWorlds().forEach(world -> {
-                Channel.SERVER_RESOURCES.sendToAllPlayers(msg, world);
+            ServerResources.invalidate();
+            server.getPlayerManager().getPlayerList().forEach(player -> {
+                Channel.SERVER_RESOURCES.sendToPlayer(ServerResources.createManifest(player), player);
             });
         }
     }
@@ -0,0 +1,23 @@
+package com.minelittlepony.unicopia.diet;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.mojang.datafixers.util.Pair;
+
+import net.minecraft.item.FoodComponent;
+
+/**
+ * The resolved outcome of a race eating a particular item.
+ *
+ * @param effect    The effect applied after eating the item
+ * @param ratios    The hunger and saturation multipliers applied to the item's food
+ * @param baseFood  The item's food before adjustment, or the iron gut fallback for items that aren't normally food
+ * @param food      The adjusted food component, or null if the item is inedible
+ */
+record Edibility(
+        Effect effect,
+        Pair<Float, Float> ratios,
+        @Nullable FoodComponent baseFood,
+        @Nullable FoodComponent food
+) {
+}
@@ -3,6 +3,7 @@ package com.minelittlepony.unicopia.diet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 import org.jetbrains.annotations.Nullable;
 
@@ -10,9 +11,13 @@ import com.minelittlepony.unicopia.Race;
 import com.minelittlepony.unicopia.entity.effect.FoodPoisoningStatusEffect;
 import com.minelittlepony.unicopia.entity.player.Pony;
 import com.minelittlepony.unicopia.item.ItemDuck;
+import com.mojang.datafixers.util.Pair;
+
 import net.minecraft.client.item.TooltipContext;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.item.FoodComponent;
+import net.minecraft.item.Item;
 import net.minecraft.item.ItemStack;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.text.Text;
@@ -25,6 +30,8 @@ public class PonyDiets implements DietView {
     private final Map<Race, DietProfile> diets;
     private final List<Effect> effects;
 
+    private final Map<Race, Map<Item, Edibility>> edibility = new ConcurrentHashMap<>();
+
     private static PonyDiets INSTANCE = new PonyDiets(Map.of(), List.of());
 
     public static PonyDiets getInstance() {
@@ -35,6 +42,13 @@ public class PonyDiets implements DietView {
         INSTANCE = diets;
     }
 
+    /**
+     * Discards the resolved edibility of every item so it can be looked up again against newly loaded tags.
+     */
+    public void invalidate() {
+        edibility.clear();
+    }
+
     PonyDiets(Map<Race, DietProfile> diets, List<Effect> effects) {
         this.diets = diets;
         this.effects = effects;
@@ -50,15 +64,45 @@ public class PonyDiets implements DietView {
     }
 
     private DietProfile getDiet(Pony pony) {
-        return Optional.ofNullable(diets.get(pony.getObservedSpecies())).orElse(DietProfile.EMPTY);
+        return getDiet(pony.getObservedSpecies());
+    }
+
+    private DietProfile getDiet(Race race) {
+        return Optional.ofNullable(diets.get(race)).orElse(DietProfile.EMPTY);
     }
 
     Effect getEffects(ItemStack stack) {
         return effects.stream().filter(effect -> effect.test(stack)).findFirst().orElse(Effect.EMPTY);
     }
 
-    private Effect getEffects(ItemStack stack, Pony pony) {
-        return getDiet(pony).findEffect(stack).orElseGet(() -> getEffects(stack));
+    private Edibility getEdibility(ItemStack stack, Pony pony) {
+        Race race = pony.getObservedSpecies();
+        return edibility
+                .computeIfAbsent(race, r -> new ConcurrentHashMap<>())
+                .computeIfAbsent(stack.getItem(), item -> resolveEdibility(item, race));
+    }
+
+    // diets only match items by their tags, so the result is the same for every stack of an item
+    private Edibility resolveEdibility(Item item, Race race) {
+        ItemStack stack = item.getDefaultStack();
+        DietProfile diet = getDiet(race);
+        Pair<Float, Float> ratios = diet.getRatios(stack);
+
+        @Nullable
+        FoodComponent baseFood = ((ItemDuck)item).getOriginalFoodComponent().orElse(null);
+        if (baseFood == null && race.hasIronGut()) {
+            baseFood = diet.findEffect(stack)
+                    .flatMap(Effect::foodComponent)
+                    .or(() -> getEffects(stack).foodComponent())
+                    .orElse(null);
+        }
+
+        return new Edibility(
+                diet.findEffect(stack).orElseGet(() -> getEffects(stack)),
+                ratios,
+                baseFood,
+                baseFood == null ? null : diet.getAdjustedFoodComponent(baseFood, ratios)
+        );
     }
 
     @Override
@@ -71,17 +115,19 @@ public class PonyDiets implements DietView {
     @Override
     public void finishUsing(ItemStack stack, World world, LivingEntity entity) {
         if (initEdibility(stack, entity)) {
-            Pony.of(entity).ifPresent(pony -> getEffects(stack, pony).afflict(pony, stack));
+            Pony.of(entity).ifPresent(pony -> getEdibility(stack, pony).effect().afflict(pony, stack));
         }
     }
 
     @Override
     public void appendTooltip(ItemStack stack, @Nullable PlayerEntity user, List<Text> tooltip, TooltipContext context) {
-        if (initEdibility(stack, user)) {
-            Pony pony = Pony.of(user);
+        @Nullable
+        Pony pony = Pony.of(user);
+        if (pony != null) {
+            Edibility edibility = getEdibility(stack, pony);
 
             tooltip.add(Text.translatable("unicopia.diet.information").formatted(Formatting.DARK_PURPLE));
-            getEffects(stack, pony).appendTooltip(stack, tooltip, context);
+            edibility.effect().appendTooltip(stack, tooltip, context);
 
             /*for (Race race : Race.REGISTRY) {
                 var diet = diets.get(race);
@@ -91,28 +137,15 @@ public class PonyDiets implements DietView {
                 }
             }*/
 
-            getDiet(pony).appendTooltip(stack, user, tooltip, context);
+            getDiet(pony).appendTooltip(stack, edibility, tooltip, context);
         }
     }
 
     private boolean initEdibility(ItemStack stack, LivingEntity user) {
         ItemDuck item = (ItemDuck)stack.getItem();
-        item.resetFoodComponent();
-        return Pony.of(user).filter(pony -> {
-            DietProfile diet = getDiet(pony);
-
-            if (!stack.isFood() && pony.getObservedSpecies().hasIronGut()) {
-                diet.findEffect(stack)
-                    .flatMap(Effect::foodComponent)
-                    .or(() -> getEffects(stack).foodComponent())
-                    .ifPresent(item::setFoodComponent);
-            }
-
-            if (stack.isFood()) {
-                item.setFoodComponent(diet.getAdjustedFoodComponent(stack));
-            }
-
-            return true;
-        }).isPresent();
+        Optional<Pony> pony = Pony.of(user);
+        // vanilla reads the food component from the item when it is consumed
+        item.setFoodComponent(pony.isPresent() ? getEdibility(stack, pony.get()).food() : item.getOriginalFoodComponent().orElse(null));
+        return pony.isPresent();
     }
 }
@@ -15,6 +15,7 @@ public interface DynamicLightSource {
     static final class LightEmitter<T extends Entity & DynamicLightSource> {
         @Nullable
         private BlockPos lastPos;
+        private int lastLight;
 
         private final T entity;
 
@@ -32,13 +33,19 @@ public interface DynamicLightSource {
             int light = entity.getLightLevel();
 
             if (light <= 0) {
+                if (lastLight > 0) {
+                    remove();
+                    lastPos = null;
+                    lastLight = 0;
+                }
                 return;
             }
 
             BlockPos currentPos = entity.getBlockPos();
 
-            if (!currentPos.equals(lastPos) && entity.getWorld().isChunkLoaded(currentPos)) {
-                LightSources.get(entity.getWorld()).addLightSource(entity);
+            if ((light != lastLight || !currentPos.equals(lastPos)) && entity.getWorld().isChunkLoaded(currentPos)) {
+                LightSources.get(entity.getWorld()).addLightSource(entity, light);
+                lastLight = light;
 
                 try {
                     if (lastPos != null) {
@@ -8,6 +8,7 @@ import com.minelittlepony.unicopia.item.enchantment.WantItNeedItEnchantment;
 import com.minelittlepony.unicopia.particle.FollowingParticleEffect;
 import com.minelittlepony.unicopia.particle.ParticleUtils;
 import com.minelittlepony.unicopia.particle.UParticles;
+import com.minelittlepony.unicopia.server.world.EntityQueryCache;
 import com.minelittlepony.unicopia.util.VecHelper;
 
 import net.minecraft.enchantment.EnchantmentHelper;
@@ -94,11 +95,7 @@ public class ItemImpl implements Equine<ItemEntity> {
                         0, 0, 0
                 );
 
-                Vec3d position = entity.getPos();
-                VecHelper.findInRange(entity, entity.getWorld(), entity.getPos(), clingy.getFollowDistance(i), e -> e instanceof PlayerEntity)
-                    .stream()
-                    .sorted((a, b) -> (int)(a.getPos().distanceTo(position) - b.getPos().distanceTo(position)))
-                    .findFirst()
+                EntityQueryCache.of(entity.getWorld()).findClosest(PlayerEntity.class, entity, entity.getPos(), clingy.getFollowDistance(i), null)
                     .ifPresent(player -> {
                         double distance = player.getPos().distanceTo(entity.getPos());
 
@@ -107,7 +104,7 @@ public class ItemImpl implements Equine<ItemEntity> {
                             entity.move(MovementType.SELF, new Vec3d(0, entity.verticalCollision ? -0.3 : 0.3, 0));
                         }
 
-                        clingy.interactWithPlayer(i, (PlayerEntity)player);
+                        clingy.interactWithPlayer(i, player);
                     });
             }
 
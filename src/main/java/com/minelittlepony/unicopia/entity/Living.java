@@ -50,6 +50,7 @@ import net.minecraft.entity.attribute.EntityAttributeModifier;
 import net.minecraft.entity.damage.DamageSource;
 import net.minecraft.entity.damage.DamageTypes;
 import net.minecraft.entity.data.*;
+import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.entity.mob.HostileEntity;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.projectile.ProjectileEntity;
@@ -125,6 +126,25 @@ public abstract class Living<T extends LivingEntity> implements Equine<T>, Caste
         entity.getDataTracker().startTracking(CARRIER_ID, Optional.empty());
     }
 
+    /**
+     * Called whenever a value in the entity's data tracker is changed, either locally or by the server.
+     */
+    public void onTrackedDataSet(TrackedData<?> data) {
+    }
+
+    /**
+     * Called whenever an item is put into or taken out of one of the entity's armour, offhand, or trinket slots,
+     * or one of the items in those slots changes.
+     */
+    public void onEquipmentChanged() {
+    }
+
+    /**
+     * Called whenever a status effect is added to, upgraded on, or removed from the entity.
+     */
+    public void onStatusEffectChanged(StatusEffectInstance effect) {
+    }
+
     public <Q extends Tickable> Q addTicker(Q tickable) {
         tickers.add(Objects.requireNonNull(tickable, "tickable cannot be null"));
         return tickable;
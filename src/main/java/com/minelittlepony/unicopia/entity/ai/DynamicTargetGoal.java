@@ -1,13 +1,12 @@
 package com.minelittlepony.unicopia.entity.ai;
 
-import java.util.Comparator;
 import java.util.Optional;
 import java.util.function.Predicate;
 import java.util.function.Supplier;
 
 import org.jetbrains.annotations.Nullable;
 
-import com.minelittlepony.unicopia.util.VecHelper;
+import com.minelittlepony.unicopia.server.world.EntityQueryCache;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.LivingEntity;
@@ -52,10 +51,7 @@ public class DynamicTargetGoal extends Goal {
                 mob.setTarget(null);
             }
 
-            target = VecHelper.findInRange(mob, mob.getWorld(), mob.getPos(), 26, test)
-                .stream()
-                .sorted(Comparator.comparing(e -> mob.distanceTo(e)))
-                .findFirst();
+            target = EntityQueryCache.of(mob.getWorld()).findClosest(Entity.class, mob, mob.getPos(), 26, test);
 
             if (target.isPresent()) {
                 if (target.get() instanceof LivingEntity) {
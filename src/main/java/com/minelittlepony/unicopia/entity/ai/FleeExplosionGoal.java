@@ -1,6 +1,5 @@
 package com.minelittlepony.unicopia.entity.ai;
 
-import java.util.Comparator;
 import java.util.EnumSet;
 import java.util.function.Predicate;
 import java.util.stream.Stream;
@@ -9,6 +8,7 @@ import org.jetbrains.annotations.Nullable;
 
 import com.minelittlepony.unicopia.entity.Creature;
 import com.minelittlepony.unicopia.entity.Living;
+import com.minelittlepony.unicopia.server.world.EntityQueryCache;
 
 import net.minecraft.entity.Entity;
 import net.minecraft.entity.TntEntity;
@@ -26,7 +26,6 @@ public class FleeExplosionGoal extends Goal {
     private final PathAwareEntity mob;
     private final double slowSpeed;
     private final double fastSpeed;
-    private final Comparator<Entity> sorting;
 
     @Nullable
     private Entity targetEntity;
@@ -38,7 +37,6 @@ public class FleeExplosionGoal extends Goal {
         this.mob = mob;
         this.slowSpeed = slowSpeed;
         this.fastSpeed = fastSpeed;
-        this.sorting = Comparator.comparingDouble(e -> e.squaredDistanceTo(mob));
     }
 
     public void setFleeTarget(@Nullable Entity target) {
@@ -48,7 +46,7 @@ public class FleeExplosionGoal extends Goal {
     @Override
     public boolean canStart() {
         if (targetEntity == null || targetEntity.isRemoved()) {
-            targetEntity = mob.getWorld().getOtherEntities(mob, mob.getBoundingBox().expand(5, 3, 5), SOURCE_PREDICATE).stream().sorted(sorting).findFirst().orElse(null);
+            targetEntity = EntityQueryCache.of(mob.getWorld()).findClosest(Entity.class, mob, mob.getPos(), 5, SOURCE_PREDICATE).orElse(null);
         }
 
         if (targetEntity == null) {
@@ -0,0 +1,83 @@
+package com.minelittlepony.unicopia.entity.collision;
+
+import java.util.Iterator;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.minelittlepony.unicopia.Unicopia;
+import com.minelittlepony.unicopia.server.world.WorldOverlay;
+
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Box;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+
+/**
+ * Tracks the entities in a world that contribute additional collision shapes,
+ * so collision checks only have to consider those instead of every entity nearby.
+ */
+public class CollisionSources extends PersistentState {
+    private static final Identifier ID = Unicopia.id("collision_sources");
+
+    private final World world;
+
+    private final Set<Entity> entities = new ReferenceOpenHashSet<>();
+    private volatile boolean empty = true;
+
+    public static CollisionSources get(World world) {
+        return WorldOverlay.getPersistableStorage(world, ID, CollisionSources::new, CollisionSources::new);
+    }
+
+    CollisionSources(World world, NbtCompound compound) {
+        this(world);
+    }
+
+    CollisionSources(World world) {
+        this.world = world;
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound compound) {
+        return compound;
+    }
+
+    public void add(Entity entity) {
+        synchronized (entities) {
+            entities.add(entity);
+            empty = false;
+        }
+    }
+
+    public void remove(Entity entity) {
+        if (empty) {
+            return;
+        }
+        synchronized (entities) {
+            entities.remove(entity);
+            empty = entities.isEmpty();
+        }
+    }
+
+    public void forEachNear(@Nullable Entity except, Box box, Consumer<Entity> consumer) {
+        if (empty) {
+            return;
+        }
+        synchronized (entities) {
+            Iterator<Entity> iter = entities.iterator();
+            while (iter.hasNext()) {
+                Entity e = iter.next();
+                if (e.isRemoved() || e.getWorld() != world) {
+                    iter.remove();
+                } else if (e != except && e.getBoundingBox().intersects(box)) {
+                    consumer.accept(e);
+                }
+            }
+            empty = entities.isEmpty();
+        }
+    }
+}
@@ -18,6 +18,7 @@ import net.minecraft.util.math.Box;
 import net.minecraft.util.shape.VoxelShape;
 import net.minecraft.util.shape.VoxelShapes;
 import net.minecraft.world.EntityView;
+import net.minecraft.world.World;
 
 public class EntityCollisions {
 
@@ -43,14 +44,16 @@ public class EntityCollisions {
     public static List<VoxelShape> getColissonShapes(@Nullable Entity entity, EntityView world, Box box) {
         ShapeContext ctx = entity == null ? ShapeContext.absent() : ShapeContext.of(entity);
         return collectCollisionBoxes(box, collector -> {
-            world.getOtherEntities(entity, box.expand(50), e -> {
+            if (!(world instanceof World w)) {
+                return;
+            }
+            CollisionSources.get(w).forEachNear(entity, box.expand(50), e -> {
                 Caster.of(e).flatMap(c -> c.getSpellSlot().get(SpellPredicate.IS_DISGUISE, false)).ifPresent(p -> {
                     p.getDisguise().getCollissionShapes(ctx, collector);
                 });
                 if (e instanceof ComplexCollidable collidable) {
                     collidable.getCollissionShapes(ctx, collector);
                 }
-                return false;
             });
         });
     }
@@ -1,28 +1,21 @@
 package com.minelittlepony.unicopia.entity.duck;
 
-import java.util.Stack;
-
 import net.minecraft.util.math.BlockPos;
 
 public interface RotatedView {
 
-    Stack<Integer> getRotations();
+    Rotations getRotations();
 
     boolean hasTransform();
 
     void setMirrorEntityStatuses(boolean enable);
 
     default void pushRotation(int y) {
-        getRotations().add(y);
+        getRotations().push(y);
     }
 
     default void popRotation() {
-        Stack<Integer> rotations = getRotations();
-        synchronized (rotations) {
-            if (!rotations.isEmpty()) {
-                rotations.pop();
-            }
-        }
+        getRotations().pop();
     }
 
     default BlockPos applyRotation(BlockPos pos) {
@@ -34,13 +27,62 @@ public interface RotatedView {
     }
 
     default int applyRotation(int y) {
-        Stack<Integer> rotations = getRotations();
-        synchronized (rotations) {
-            if (!hasTransform() || rotations.isEmpty()) {
+        Rotations rotations = getRotations();
+        if (!rotations.isActive() || !hasTransform()) {
+            return y;
+        }
+        return rotations.apply(y);
+    }
+
+    /**
+     * Stack of gravity-flip transforms applied to a world's block accesses.
+     * <p>
+     * Transforms are confined to the thread that pushed them, so reads coming from
+     * any other thread (worldgen, lighting, etc) always see the untransformed world.
+     * When nothing is pushed the only cost to a caller is a single volatile read.
+     */
+    final class Rotations {
+        private volatile boolean active;
+        private Thread owner;
+
+        private int[] values = new int[4];
+        private int size;
+
+        public boolean isActive() {
+            return active;
+        }
+
+        public void push(int y) {
+            Thread current = Thread.currentThread();
+            if (size == 0) {
+                owner = current;
+            } else if (owner != current) {
+                return;
+            }
+            if (size == values.length) {
+                int[] grown = new int[size * 2];
+                System.arraycopy(values, 0, grown, 0, size);
+                values = grown;
+            }
+            values[size++] = y;
+            active = true;
+        }
+
+        public void pop() {
+            if (!active || owner != Thread.currentThread()) {
+                return;
+            }
+            if (--size <= 0) {
+                size = 0;
+                active = false;
+            }
+        }
+
+        public int apply(int y) {
+            if (owner != Thread.currentThread() || size == 0) {
                 return y;
             }
-            return y - ((y - rotations.peek()) * 2);
+            return y - ((y - values[size - 1]) * 2);
         }
     }
-
 }
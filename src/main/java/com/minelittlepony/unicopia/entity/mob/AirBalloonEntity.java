@@ -44,6 +44,7 @@ import com.minelittlepony.unicopia.USounds;
 import com.minelittlepony.unicopia.advancement.UCriteria;
 import com.minelittlepony.unicopia.entity.Living;
 import com.minelittlepony.unicopia.entity.MagicImmune;
+import com.minelittlepony.unicopia.entity.collision.CollisionSources;
 import com.minelittlepony.unicopia.entity.collision.EntityCollisions;
 import com.minelittlepony.unicopia.entity.collision.MultiBoundingBoxEntity;
 import com.minelittlepony.unicopia.entity.collision.MultiBox;
@@ -263,6 +264,13 @@ public class AirBalloonEntity extends MobEntity implements EntityCollisions.Comp
         updatePassengers(false);
         super.tick();
         setBoundingBox(MultiBox.of(getBoundingBox(), getBoundingBoxes()));
+        CollisionSources.get(getWorld()).add(this);
+    }
+
+    @Override
+    public void onRemoved() {
+        super.onRemoved();
+        CollisionSources.get(getWorld()).remove(this);
     }
 
     private void updatePassengers(boolean move) {
@@ -353,19 +353,16 @@ public class SombraEntity extends HostileEntity implements ArenaCombatant, Parti
             setTarget(null);
         }
 
-        if (getHealth() < getMaxHealth()) {
+        if (getHealth() < getMaxHealth() && age % 150 == 0) {
             for (Entity shard : getWorld().getEntitiesByClass(CrystalShardsEntity.class, getBoundingBox().expand(50), EntityPredicates.VALID_ENTITY)) {
+                heal(2);
 
-                if (age % 150 == 0) {
-                    heal(2);
-
-                    ParticleUtils.spawnParticle(getWorld(),
-                            new FollowingParticleEffect(UParticles.HEALTH_DRAIN, this, 0.2F)
-                            .withChild(ParticleTypes.CAMPFIRE_SIGNAL_SMOKE),
-                            shard.getPos(),
-                            Vec3d.ZERO
-                    );
-                }
+                ParticleUtils.spawnParticle(getWorld(),
+                        new FollowingParticleEffect(UParticles.HEALTH_DRAIN, this, 0.2F)
+                        .withChild(ParticleTypes.CAMPFIRE_SIGNAL_SMOKE),
+                        shard.getPos(),
+                        Vec3d.ZERO
+                );
             }
         }
 
@@ -33,6 +33,7 @@ import com.minelittlepony.unicopia.item.enchantment.UEnchantments;
 import com.minelittlepony.unicopia.util.*;
 import com.minelittlepony.unicopia.network.*;
 import com.minelittlepony.unicopia.network.datasync.EffectSync.UpdateCallback;
+import com.minelittlepony.unicopia.network.datasync.SyncedCompound;
 import com.minelittlepony.unicopia.server.world.UGameRules;
 import com.minelittlepony.common.util.animation.LinearInterpolator;
 import com.google.common.collect.Streams;
@@ -70,8 +71,8 @@ import net.minecraft.world.GameMode;
 import net.minecraft.world.GameRules;
 
 public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, UpdateCallback {
-    private static final TrackedData<String> RACE = DataTracker.registerData(PlayerEntity.class, TrackedDataHandlerRegistry.STRING);
-    private static final TrackedData<String> SUPPRESSED_RACE = DataTracker.registerData(PlayerEntity.class, TrackedDataHandlerRegistry.STRING);
+    private static final TrackedData<Race> RACE = DataTracker.registerData(PlayerEntity.class, Race.TRACKED_DATA_HANDLER);
+    private static final TrackedData<Race> SUPPRESSED_RACE = DataTracker.registerData(PlayerEntity.class, Race.TRACKED_DATA_HANDLER);
 
     static final TrackedData<Float> ENERGY = DataTracker.registerData(PlayerEntity.class, TrackedDataHandlerRegistry.FLOAT);
     static final TrackedData<Float> EXHAUSTION = DataTracker.registerData(PlayerEntity.class, TrackedDataHandlerRegistry.FLOAT);
@@ -84,6 +85,11 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
 
     static final int INITIAL_SUN_IMMUNITY = 20;
 
+    /**
+     * Capabilities that are only sent to the player they belong to.
+     */
+    private static final Set<String> PRIVATE_CAPABILITIES = Set.of("discoveries", "advancementProgress", "magicExhaustion");
+
     private static final TrackedData<NbtCompound> EFFECT = DataTracker.registerData(PlayerEntity.class, TrackedDataHandlerRegistry.NBT_COMPOUND);
 
     private final AbilityDispatcher powers = new AbilityDispatcher(this);
@@ -102,11 +108,17 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
 
     private final Interpolator interpolator = new LinearInterpolator();
 
+    private Race species = Race.UNSET;
+    private Race suppressedRace = Race.UNSET;
     private Race.Composite compositeRace = Race.UNSET.composite();
+    private boolean compositeRaceChanged = true;
     private Race respawnRace = Race.UNSET;
 
     private boolean dirty;
 
+    private final SyncedCompound capabilitySync = new SyncedCompound();
+    private final SyncedCompound publicCapabilitySync = new SyncedCompound();
+
     private float magicExhaustion = 0;
 
     private int ticksInvulnerable;
@@ -140,8 +152,33 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
         mana.initDataTracker();
         entity.getDataTracker().startTracking(LEVEL, 0);
         entity.getDataTracker().startTracking(CORRUPTION, 0);
-        entity.getDataTracker().startTracking(RACE, Race.DEFAULT_ID);
-        entity.getDataTracker().startTracking(SUPPRESSED_RACE, Race.DEFAULT_ID);
+        entity.getDataTracker().startTracking(RACE, Race.UNSET);
+        entity.getDataTracker().startTracking(SUPPRESSED_RACE, Race.UNSET);
+    }
+
+    @Override
+    public void onTrackedDataSet(TrackedData<?> data) {
+        if (RACE.equals(data)) {
+            species = entity.getDataTracker().get(RACE);
+            compositeRaceChanged = true;
+        } else if (SUPPRESSED_RACE.equals(data)) {
+            suppressedRace = entity.getDataTracker().get(SUPPRESSED_RACE);
+            compositeRaceChanged = true;
+        } else if (EFFECT.equals(data)) {
+            compositeRaceChanged = true;
+        }
+    }
+
+    @Override
+    public void onEquipmentChanged() {
+        compositeRaceChanged = true;
+    }
+
+    @Override
+    public void onStatusEffectChanged(StatusEffectInstance effect) {
+        if (effect.getEffectType() instanceof MetamorphosisStatusEffect) {
+            compositeRaceChanged = true;
+        }
     }
 
     public static void registerAttributes(DefaultAttributeContainer.Builder builder) {
@@ -217,7 +254,7 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
      */
     @Override
     public Race getSpecies() {
-        return Race.fromName(entity.getDataTracker().get(RACE), Race.HUMAN);
+        return species;
     }
 
     /**
@@ -241,7 +278,7 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
     public void setSpecies(Race race) {
         race = race.validate(entity);
         Race current = getSpecies();
-        entity.getDataTracker().set(RACE, race.getId().toString());
+        entity.getDataTracker().set(RACE, race);
         if (race != current) {
             clearSuppressedRace();
         }
@@ -254,7 +291,7 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
     }
 
     public void setSuppressedRace(Race race) {
-        entity.getDataTracker().set(SUPPRESSED_RACE, race.validate(entity).getId().toString());
+        entity.getDataTracker().set(SUPPRESSED_RACE, race.validate(entity));
     }
 
     public void clearSuppressedRace() {
@@ -262,7 +299,7 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
     }
 
     public Race getSuppressedRace() {
-        return Race.fromName(entity.getDataTracker().get(SUPPRESSED_RACE), Race.UNSET);
+        return suppressedRace;
     }
 
     public TraitDiscovery getDiscoveries() {
@@ -334,19 +371,44 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
         dirty = true;
     }
 
+    public SyncedCompound getCapabilitySync() {
+        return capabilitySync;
+    }
+
     private void sendCapabilities() {
         if (!dirty) {
             return;
         }
         dirty = false;
 
-        if (entity instanceof ServerPlayerEntity) {
-            MsgOtherPlayerCapabilities packet = new MsgOtherPlayerCapabilities(this);
-            Channel.SERVER_PLAYER_CAPABILITIES.sendToPlayer(packet, (ServerPlayerEntity)entity);
-            Channel.SERVER_OTHER_PLAYER_CAPABILITIES.sendToSurroundingPlayers(packet, entity);
+        if (entity instanceof ServerPlayerEntity player) {
+            NbtCompound compound = toSyncronisedNbt();
+            SyncedCompound.Delta delta = capabilitySync.update(compound, false);
+            if (delta != null) {
+                Channel.SERVER_PLAYER_CAPABILITIES.sendToPlayer(new MsgPlayerCapabilities(entity.getUuid(), delta), player);
+            }
+            NbtCompound publicView = toPublicNbt(compound);
+            if (publicCapabilitySync.update(publicView, false) != null) {
+                Channel.SERVER_OTHER_PLAYER_CAPABILITIES.sendToSurroundingPlayers(new MsgOtherPlayerCapabilities(entity.getUuid(), SyncedCompound.Delta.of(publicView)), entity);
+            }
         }
     }
 
+    /**
+     * Sends the public view of this player's capabilities to a player that has just started tracking them.
+     */
+    public void sendCapabilitiesTo(ServerPlayerEntity recipient) {
+        if (recipient != entity) {
+            Channel.SERVER_OTHER_PLAYER_CAPABILITIES.sendToPlayer(new MsgOtherPlayerCapabilities(entity.getUuid(), SyncedCompound.Delta.of(toPublicNbt(toSyncronisedNbt()))), recipient);
+        }
+    }
+
+    private static NbtCompound toPublicNbt(NbtCompound compound) {
+        NbtCompound publicView = compound.copy();
+        PRIVATE_CAPABILITIES.forEach(publicView::remove);
+        return publicView;
+    }
+
     public AbilityDispatcher getAbilities() {
         return powers;
     }
@@ -395,7 +457,8 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
 
     @Override
     public boolean beforeUpdate() {
-        if (compositeRace.includes(Race.UNSET) || entity.age % 2 == 0) {
+        // a mimicked player can change their race at any time, so that's the only thing that still has to be polled
+        if (compositeRaceChanged || (entity.age % 2 == 0 && getSpellSlot().contains(SpellPredicate.IS_MIMIC))) {
             recalculateCompositeRace();
         }
 
@@ -489,9 +552,10 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
     }
 
     private void recalculateCompositeRace() {
+        compositeRaceChanged = false;
         Race intrinsicRace = getSpecies();
         Race suppressedRace = getSuppressedRace();
-        compositeRace = MetamorphosisStatusEffect.getEffectiveRace(entity, getSpellSlot()
+        Race.Composite compositeRace = MetamorphosisStatusEffect.getEffectiveRace(entity, getSpellSlot()
                 .get(SpellPredicate.IS_MIMIC, true)
                 .map(AbstractDisguiseSpell::getDisguise)
                 .map(EntityAppearance::getAppearance)
@@ -503,7 +567,10 @@ public class Pony extends Living<PlayerEntity> implements Copyable<Pony>, Update
             : null,
             AmuletSelectors.PEARL_NECKLACE.test(entity) ? suppressedRace.or(Race.SEAPONY) : null
         );
-        UCriteria.PLAYER_CHANGE_RACE.trigger(entity);
+        if (!compositeRace.equals(this.compositeRace)) {
+            this.compositeRace = compositeRace;
+            UCriteria.PLAYER_CHANGE_RACE.trigger(entity);
+        }
     }
 
     @Override
@@ -1,7 +1,10 @@
 package com.minelittlepony.unicopia.mixin;
 
+import java.util.Map;
 import java.util.Optional;
 
+import org.jetbrains.annotations.Nullable;
+
 import org.spongepowered.asm.mixin.*;
 import org.spongepowered.asm.mixin.gen.Accessor;
 import org.spongepowered.asm.mixin.injection.At;
@@ -20,9 +23,12 @@ import com.minelittlepony.unicopia.entity.duck.*;
 
 import net.fabricmc.fabric.api.util.TriState;
 import net.minecraft.entity.Entity;
+import net.minecraft.entity.EquipmentSlot;
 import net.minecraft.entity.LivingEntity;
 import net.minecraft.entity.attribute.DefaultAttributeContainer;
 import net.minecraft.entity.damage.DamageSource;
+import net.minecraft.entity.data.TrackedData;
+import net.minecraft.entity.effect.StatusEffectInstance;
 import net.minecraft.item.ItemStack;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.util.Hand;
@@ -130,6 +136,38 @@ abstract class MixinLivingEntity extends Entity implements LivingEntityDuck, Equ
         get().adjustMovementSpeedInWater(info.getReturnValue()).ifPresent(info::setReturnValue);
     }
 
+    @Inject(method = "onTrackedDataSet(Lnet/minecraft/entity/data/TrackedData;)V", at = @At("HEAD"))
+    private void onTrackedDataSet(TrackedData<?> data, CallbackInfo info) {
+        get().onTrackedDataSet(data);
+    }
+
+    @Inject(method = "onEquipStack", at = @At("HEAD"))
+    private void beforeEquipStack(EquipmentSlot slot, ItemStack oldStack, ItemStack newStack, CallbackInfo info) {
+        get().onEquipmentChanged();
+    }
+
+    @Inject(method = "getEquipmentChanges", at = @At("RETURN"))
+    private void onGetEquipmentChanges(CallbackInfoReturnable<Map<EquipmentSlot, ItemStack>> info) {
+        if (info.getReturnValue() != null && !info.getReturnValue().isEmpty()) {
+            get().onEquipmentChanged();
+        }
+    }
+
+    @Inject(method = "onStatusEffectApplied", at = @At("HEAD"))
+    private void beforeStatusEffectApplied(StatusEffectInstance effect, @Nullable Entity source, CallbackInfo info) {
+        get().onStatusEffectChanged(effect);
+    }
+
+    @Inject(method = "onStatusEffectUpgraded", at = @At("HEAD"))
+    private void beforeStatusEffectUpgraded(StatusEffectInstance effect, boolean reapplyEffect, @Nullable Entity source, CallbackInfo info) {
+        get().onStatusEffectChanged(effect);
+    }
+
+    @Inject(method = "onStatusEffectRemoved", at = @At("HEAD"))
+    private void beforeStatusEffectRemoved(StatusEffectInstance effect, CallbackInfo info) {
+        get().onStatusEffectChanged(effect);
+    }
+
     @Inject(method = "jump()V", at = @At("RETURN"))
     private void onJump(CallbackInfo info) {
         get().onJump();
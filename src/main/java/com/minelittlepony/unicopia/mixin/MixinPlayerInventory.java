@@ -11,6 +11,7 @@ import org.spongepowered.asm.mixin.injection.Inject;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
 import com.minelittlepony.unicopia.advancement.UCriteria;
+import com.minelittlepony.unicopia.entity.player.Pony;
 import com.minelittlepony.unicopia.item.enchantment.HeartboundEnchantmentUtil;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.entity.player.PlayerInventory;
@@ -25,10 +26,20 @@ abstract class MixinPlayerInventory implements Inventory, Nameable {
     public @Final PlayerEntity player;
     @Shadow
     private @Final List<DefaultedList<ItemStack>> combinedInventory;
+    @Shadow
+    public @Final DefaultedList<ItemStack> main;
 
     @Nullable
     private HeartboundEnchantmentUtil.InventorySnapshot inventorySnapshot;
 
+    @Inject(method = "setStack(ILnet/minecraft/item/ItemStack;)V", at = @At("HEAD"))
+    private void onSetStack(int slot, ItemStack stack, CallbackInfo info) {
+        // armour and offhand come after the main inventory
+        if (slot >= main.size()) {
+            Pony.of(player).onEquipmentChanged();
+        }
+    }
+
     @Inject(method = "dropAll()V", at = @At("HEAD"))
     public void beforeDropAll(CallbackInfo info) {
         inventorySnapshot = HeartboundEnchantmentUtil.createSnapshot(combinedInventory);
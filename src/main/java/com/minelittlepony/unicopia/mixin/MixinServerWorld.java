@@ -2,6 +2,7 @@ package com.minelittlepony.unicopia.mixin;
 
 import java.util.List;
 import java.util.function.BooleanSupplier;
+import java.util.function.Supplier;
 
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -11,8 +12,10 @@ import org.spongepowered.asm.mixin.injection.ModifyConstant;
 import org.spongepowered.asm.mixin.injection.ModifyVariable;
 import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
 
+import com.minelittlepony.unicopia.ability.data.tree.TreeCache;
 import com.minelittlepony.unicopia.server.world.BlockDestructionManager;
 import com.minelittlepony.unicopia.server.world.NocturnalSleepManager;
+import com.minelittlepony.unicopia.server.world.WeatherConditions;
 
 import net.minecraft.block.BlockState;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -23,15 +26,18 @@ import net.minecraft.world.StructureWorldAccess;
 import net.minecraft.world.World;
 
 @Mixin(ServerWorld.class)
-abstract class MixinServerWorld extends World implements StructureWorldAccess, NocturnalSleepManager.Source {
+abstract class MixinServerWorld extends World implements StructureWorldAccess, NocturnalSleepManager.Source, TreeCache.Source {
 
     private NocturnalSleepManager nocturnalSleepManager;
+    private final Supplier<TreeCache> treeCache = TreeCache.create((World)(Object)this);
 
     MixinServerWorld() { super(null, null, null, null, null, false, false, 0, 0); }
 
     @Inject(method = "onBlockChanged", at = @At("HEAD"))
     private void onOnBlockChanged(BlockPos pos, BlockState oldState, BlockState newState, CallbackInfo info) {
         ((BlockDestructionManager.Source)this).getDestructionManager().onBlockChanged(pos, oldState, newState);
+        WeatherConditions.get(this).getAirflowField().onBlockChanged(pos);
+        getTreeCache().onBlockChanged(pos);
     }
 
     @ModifyConstant(method = "sendSleepingStatus()V", constant = @Constant(
@@ -49,6 +55,11 @@ abstract class MixinServerWorld extends World implements StructureWorldAccess, N
         return nocturnalSleepManager;
     }
 
+    @Override
+    public TreeCache getTreeCache() {
+        return treeCache.get();
+    }
+
     @Inject(method = "tick(Ljava/util/function/BooleanSupplier;)V", at = @At(
         value = "INVOKE",
         target = "net/minecraft/server/world/ServerWorld.wakeSleepingPlayers()V"
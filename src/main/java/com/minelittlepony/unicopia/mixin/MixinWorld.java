@@ -1,6 +1,5 @@
 package com.minelittlepony.unicopia.mixin;
 
-import java.util.Stack;
 import java.util.function.Supplier;
 import org.spongepowered.asm.mixin.Mixin;
 import org.spongepowered.asm.mixin.injection.At;
@@ -11,6 +10,7 @@ import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
 
 import com.minelittlepony.unicopia.entity.duck.RotatedView;
 import com.minelittlepony.unicopia.server.world.BlockDestructionManager;
+import com.minelittlepony.unicopia.server.world.EntityQueryCache;
 import net.minecraft.block.BlockState;
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.BlockPos;
@@ -18,16 +18,17 @@ import net.minecraft.world.World;
 import net.minecraft.world.WorldAccess;
 
 @Mixin(World.class)
-abstract class MixinWorld implements WorldAccess, BlockDestructionManager.Source, RotatedView {
+abstract class MixinWorld implements WorldAccess, BlockDestructionManager.Source, EntityQueryCache.Source, RotatedView {
 
     private final Supplier<BlockDestructionManager> destructions = BlockDestructionManager.create((World)(Object)this);
+    private final Supplier<EntityQueryCache> entityQueries = EntityQueryCache.create((World)(Object)this);
 
     private int recurseCount = 0;
-    private final Stack<Integer> rotations = new Stack<>();
+    private final Rotations rotations = new Rotations();
     private boolean mirrorEntityStatuses;
 
     @Override
-    public Stack<Integer> getRotations() {
+    public Rotations getRotations() {
         return rotations;
     }
 
@@ -46,6 +47,11 @@ abstract class MixinWorld implements WorldAccess, BlockDestructionManager.Source
         return destructions.get();
     }
 
+    @Override
+    public EntityQueryCache getEntityQueryCache() {
+        return entityQueries.get();
+    }
+
     @Inject(method = "sendEntityStatus(Lnet/minecraft/entity/Entity;B)V", at = @At("HEAD"))
     private void onSendEntityStatus(Entity entity, byte status, CallbackInfo info) {
         if (mirrorEntityStatuses) {
@@ -0,0 +1,29 @@
+package com.minelittlepony.unicopia.mixin.client;
+
+import java.util.SortedMap;
+
+import org.spongepowered.asm.mixin.Final;
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.Shadow;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfo;
+
+import com.minelittlepony.unicopia.client.render.RenderLayers;
+
+import net.minecraft.client.render.BufferBuilder;
+import net.minecraft.client.render.BufferBuilderStorage;
+import net.minecraft.client.render.RenderLayer;
+
+@Mixin(BufferBuilderStorage.class)
+abstract class MixinBufferBuilderStorage {
+    @Shadow
+    private @Final SortedMap<RenderLayer, BufferBuilder> entityBuilders;
+
+    @Inject(method = "<init>", at = @At("RETURN"))
+    private void onInit(CallbackInfo info) {
+        for (RenderLayer layer : RenderLayers.getSharedLayers()) {
+            entityBuilders.computeIfAbsent(layer, l -> new BufferBuilder(l.getExpectedBufferSize()));
+        }
+    }
+}
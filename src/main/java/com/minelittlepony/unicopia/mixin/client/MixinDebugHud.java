@@ -0,0 +1,20 @@
+package com.minelittlepony.unicopia.mixin.client;
+
+import java.util.List;
+
+import org.spongepowered.asm.mixin.Mixin;
+import org.spongepowered.asm.mixin.injection.At;
+import org.spongepowered.asm.mixin.injection.Inject;
+import org.spongepowered.asm.mixin.injection.callback.CallbackInfoReturnable;
+
+import com.minelittlepony.unicopia.client.render.spell.PortalRenderScheduler;
+
+import net.minecraft.client.gui.hud.DebugHud;
+
+@Mixin(DebugHud.class)
+abstract class MixinDebugHud {
+    @Inject(method = "getRightText", at = @At("RETURN"))
+    private void onGetRightText(CallbackInfoReturnable<List<String>> info) {
+        PortalRenderScheduler.INSTANCE.appendDebugText(info.getReturnValue());
+    }
+}
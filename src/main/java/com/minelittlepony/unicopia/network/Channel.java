@@ -6,6 +6,8 @@ import com.minelittlepony.unicopia.server.world.UnicopiaWorldProperties;
 import com.minelittlepony.unicopia.server.world.ZapAppleStageStore;
 import com.sollace.fabwork.api.packets.*;
 
+import net.fabricmc.fabric.api.event.lifecycle.v1.ServerLifecycleEvents;
+import net.fabricmc.fabric.api.networking.v1.EntityTrackingEvents;
 import net.fabricmc.fabric.api.networking.v1.ServerPlayConnectionEvents;
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.server.network.ServerPlayerEntity;
@@ -17,6 +19,8 @@ public interface Channel {
     C2SPacketType<MsgMarkTraitRead> MARK_TRAIT_READ = SimpleNetworking.clientToServer(Unicopia.id("mark_trait_read"), MsgMarkTraitRead::new);
     C2SPacketType<MsgRemoveSpell> REMOVE_SPELL = SimpleNetworking.clientToServer(Unicopia.id("remove_spell"), MsgRemoveSpell::new);
     C2SPacketType<MsgPlayerFlightControlsInput> FLIGHT_CONTROLS_INPUT = SimpleNetworking.clientToServer(Unicopia.id("flight_controls"), MsgPlayerFlightControlsInput::new);
+    C2SPacketType<MsgRequestServerResources> CLIENT_REQUEST_RESOURCES = SimpleNetworking.clientToServer(Unicopia.id("request_resources"), MsgRequestServerResources::new);
+    C2SPacketType<MsgRequestCapabilitySync> CLIENT_REQUEST_CAPABILITY_SYNC = SimpleNetworking.clientToServer(Unicopia.id("request_capability_sync"), MsgRequestCapabilitySync::new);
 
     S2CPacketType<MsgPlayerCapabilities> SERVER_PLAYER_CAPABILITIES = SimpleNetworking.serverToClient(Unicopia.id("player_capabilities"), MsgPlayerCapabilities::new);
     S2CPacketType<MsgBlockDestruction> SERVER_BLOCK_DESTRUCTION = SimpleNetworking.serverToClient(Unicopia.id("block_destruction"), MsgBlockDestruction::new);
@@ -30,10 +34,12 @@ public interface Channel {
     C2SPacketType<MsgSpellbookStateChanged<ServerPlayerEntity>> CLIENT_SPELLBOOK_UPDATE = SimpleNetworking.clientToServer(Unicopia.id("client_spellbook_update"), MsgSpellbookStateChanged::new);
 
     S2CPacketType<MsgServerResources> SERVER_RESOURCES = SimpleNetworking.serverToClient(Unicopia.id("resources"), MsgServerResources::new);
+    S2CPacketType<MsgServerResourceChunk> SERVER_RESOURCE_CHUNK = SimpleNetworking.serverToClient(Unicopia.id("resource_chunk"), MsgServerResourceChunk::new);
 
     S2CPacketType<MsgOtherPlayerCapabilities> SERVER_OTHER_PLAYER_CAPABILITIES = SimpleNetworking.serverToClient(Unicopia.id("other_player_capabilities"), MsgOtherPlayerCapabilities::new);
     S2CPacketType<MsgPlayerAnimationChange> SERVER_PLAYER_ANIMATION_CHANGE = SimpleNetworking.serverToClient(Unicopia.id("other_player_animation_change"), MsgPlayerAnimationChange::new);
     S2CPacketType<MsgSkyAngle> SERVER_SKY_ANGLE = SimpleNetworking.serverToClient(Unicopia.id("sky_angle"), MsgSkyAngle::new);
+    S2CPacketType<MsgSpawnParticles> SERVER_SPAWN_PARTICLES = SimpleNetworking.serverToClient(Unicopia.id("spawn_particles"), MsgSpawnParticles::new);
     S2CPacketType<MsgZapAppleStage> SERVER_ZAP_STAGE = SimpleNetworking.serverToClient(Unicopia.id("zap_stage"), MsgZapAppleStage::new);
 
     static void bootstrap() {
@@ -51,10 +57,21 @@ public interface Channel {
                     Unicopia.LOGGER.info("Setting {}'s race to {} due to host setting", handler.player.getDisplayName().getString(), Race.REGISTRY.getId(race).toString());
                 }
             }
-            sender.sendPacket(SERVER_RESOURCES.id(), new MsgServerResources().toBuffer());
+            sender.sendPacket(SERVER_RESOURCES.id(), ServerResources.createManifest(handler.player).toBuffer());
             sender.sendPacket(SERVER_SKY_ANGLE.id(), new MsgSkyAngle(UnicopiaWorldProperties.forWorld(handler.getPlayer().getServerWorld()).getTangentalSkyAngle()).toBuffer());
             ZapAppleStageStore store = ZapAppleStageStore.get(handler.player.getServerWorld());
             sender.sendPacket(SERVER_ZAP_STAGE.id(), new MsgZapAppleStage(store.getStage()).toBuffer());
         });
+        ServerLifecycleEvents.SERVER_STARTED.register(server -> ServerResources.invalidate());
+        ServerLifecycleEvents.END_DATA_PACK_RELOAD.register((server, manager, success) -> {
+            ServerResources.invalidate();
+            server.getPlayerManager().getPlayerList().forEach(player -> SERVER_RESOURCES.sendToPlayer(ServerResources.createManifest(player), player));
+        });
+        ServerPlayConnectionEvents.DISCONNECT.register((handler, server) -> ServerResources.forget(handler.player));
+        EntityTrackingEvents.START_TRACKING.register((entity, player) -> {
+            if (entity instanceof PlayerEntity p) {
+                Pony.of(p).sendCapabilitiesTo(player);
+            }
+        });
     }
 }
@@ -1,30 +1,69 @@
 package com.minelittlepony.unicopia.network;
 
+import java.util.List;
+
 import com.sollace.fabwork.api.packets.Packet;
 
-import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
-import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
 import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.entity.player.PlayerEntity;
 
 /**
  * Sent by the server to update block destruction progress on the client.
  */
-public record MsgBlockDestruction (Long2ObjectMap<Float> destructions) implements Packet<PlayerEntity> {
+public record MsgBlockDestruction (List<Section> sections) implements Packet<PlayerEntity> {
     MsgBlockDestruction(PacketByteBuf buffer) {
-        this(new Long2ObjectOpenHashMap<>());
-        int size = buffer.readInt();
-        for (int i = 0; i < size; i++) {
-            destructions.put(buffer.readLong(), (Float)buffer.readFloat());
-        }
+        this(buffer.readList(Section::new));
     }
 
     @Override
     public void toBuffer(PacketByteBuf buffer) {
-        buffer.writeInt(destructions.size());
-        destructions.forEach((p, i) -> {
-            buffer.writeLong(p);
-            buffer.writeFloat(i);
-        });
+        buffer.writeCollection(sections, (b, section) -> section.toBuffer(b));
+    }
+
+    /**
+     * The changed blocks within a single chunk section.
+     *
+     * @param pos       The packed position of the chunk section
+     * @param positions The position of each block packed relative to the section's origin
+     * @param damage    The destruction level of each block
+     */
+    public record Section (long pos, short[] positions, byte[] damage) {
+        Section(PacketByteBuf buffer) {
+            this(buffer.readLong(), new short[buffer.readVarInt()]);
+            for (int i = 0; i < positions.length; i++) {
+                positions[i] = (short)buffer.readVarInt();
+                damage[i] = buffer.readByte();
+            }
+        }
+
+        private Section(long pos, short[] positions) {
+            this(pos, positions, new byte[positions.length]);
+        }
+
+        public void forEach(Consumer consumer) {
+            ChunkSectionPos origin = ChunkSectionPos.from(pos);
+            for (int i = 0; i < positions.length; i++) {
+                consumer.accept(BlockPos.asLong(
+                        origin.unpackBlockX(positions[i]),
+                        origin.unpackBlockY(positions[i]),
+                        origin.unpackBlockZ(positions[i])
+                ), damage[i]);
+            }
+        }
+
+        void toBuffer(PacketByteBuf buffer) {
+            buffer.writeLong(pos);
+            buffer.writeVarInt(positions.length);
+            for (int i = 0; i < positions.length; i++) {
+                buffer.writeVarInt(positions[i] & 0xFFFF);
+                buffer.writeByte(damage[i]);
+            }
+        }
+
+        public interface Consumer {
+            void accept(long pos, int damage);
+        }
     }
 }
@@ -1,6 +1,9 @@
 package com.minelittlepony.unicopia.network;
 
+import java.util.UUID;
+
 import com.minelittlepony.unicopia.entity.player.Pony;
+import com.minelittlepony.unicopia.network.datasync.SyncedCompound;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.player.PlayerEntity;
@@ -8,6 +11,8 @@ import net.minecraft.network.PacketByteBuf;
 
 /**
  * Sent by the server to update other player's capabilities.
+ * <p>
+ * Always contains the complete public view of the player's capabilities, excluding private data such as their discoveries.
  */
 public class MsgOtherPlayerCapabilities extends MsgPlayerCapabilities {
 
@@ -15,8 +20,8 @@ public class MsgOtherPlayerCapabilities extends MsgPlayerCapabilities {
         super(buffer);
     }
 
-    public MsgOtherPlayerCapabilities(Pony player) {
-        super(player);
+    public MsgOtherPlayerCapabilities(UUID playerId, SyncedCompound.Delta delta) {
+        super(playerId, delta);
     }
 
     @Override
@@ -1,54 +1,47 @@
 package com.minelittlepony.unicopia.network;
 
-import java.io.IOException;
-import java.io.InputStream;
-import java.io.OutputStream;
 import java.util.UUID;
 
 import com.minelittlepony.unicopia.Unicopia;
 import com.minelittlepony.unicopia.entity.player.Pony;
+import com.minelittlepony.unicopia.network.datasync.SyncedCompound;
 import com.sollace.fabwork.api.packets.HandledPacket;
 
-import io.netty.buffer.ByteBufInputStream;
-import io.netty.buffer.ByteBufOutputStream;
 import net.minecraft.network.PacketByteBuf;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.nbt.NbtCompound;
-import net.minecraft.nbt.NbtIo;
 
 /**
  * Sent to the client to update various data pertaining to a particular player.
  * <p>
+ * Only the top-level entries that changed since the last update are sent. If the client
+ * is missing the version a delta was computed against it will request a full update.
+ * <p>
  * Also used by the server to notify a race change.
  */
 public class MsgPlayerCapabilities implements HandledPacket<PlayerEntity> {
 
     protected final UUID playerId;
 
-    private final NbtCompound compoundTag;
+    private final SyncedCompound.Delta delta;
 
     MsgPlayerCapabilities(PacketByteBuf buffer) {
         playerId = buffer.readUuid();
-        try (InputStream in = new ByteBufInputStream(buffer)) {
-            compoundTag = NbtIo.readCompressed(in);
-        } catch (IOException e) {
-            throw new RuntimeException(e);
-        }
+        delta = SyncedCompound.Delta.read(buffer);
     }
 
     public MsgPlayerCapabilities(Pony player) {
-        playerId = player.asEntity().getUuid();
-        compoundTag = new NbtCompound();
-        player.toSyncronisedNbt(compoundTag);
+        this(player.asEntity().getUuid(), player.getCapabilitySync().update(player.toSyncronisedNbt(), true));
+    }
+
+    public MsgPlayerCapabilities(UUID playerId, SyncedCompound.Delta delta) {
+        this.playerId = playerId;
+        this.delta = delta;
     }
 
     @Override
     public void toBuffer(PacketByteBuf buffer) {
         buffer.writeUuid(playerId);
-        try (OutputStream out = new ByteBufOutputStream(buffer)) {
-            NbtIo.writeCompressed(compoundTag, out);
-        } catch (IOException e) {
-        }
+        delta.toBuffer(buffer);
     }
 
     @Override
@@ -59,7 +52,9 @@ public class MsgPlayerCapabilities implements HandledPacket<PlayerEntity> {
             return;
         }
 
-        player.fromSynchronizedNbt(compoundTag);
+        player.getCapabilitySync().apply(delta).ifPresentOrElse(player::fromSynchronizedNbt, () -> {
+            Channel.CLIENT_REQUEST_CAPABILITY_SYNC.sendToServer(new MsgRequestCapabilitySync());
+        });
     }
 
     protected Pony getRecipient(PlayerEntity sender) {
@@ -0,0 +1,27 @@
+package com.minelittlepony.unicopia.network;
+
+import com.minelittlepony.unicopia.entity.player.Pony;
+import com.sollace.fabwork.api.packets.HandledPacket;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Sent by the client when it receives a capabilities update it cannot apply, to request a full update.
+ */
+public record MsgRequestCapabilitySync () implements HandledPacket<ServerPlayerEntity> {
+    MsgRequestCapabilitySync(PacketByteBuf buffer) {
+        this();
+    }
+
+    @Override
+    public void toBuffer(PacketByteBuf buffer) {
+    }
+
+    @Override
+    public void handle(ServerPlayerEntity sender) {
+        Pony player = Pony.of(sender);
+        player.getCapabilitySync().reset();
+        player.setDirty();
+    }
+}
@@ -0,0 +1,38 @@
+package com.minelittlepony.unicopia.network;
+
+import java.util.*;
+
+import com.sollace.fabwork.api.packets.HandledPacket;
+
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Sent by the client to request the sections of server resources it doesn't have cached.
+ */
+public record MsgRequestServerResources (Set<ServerResources.Section> sections) implements HandledPacket<ServerPlayerEntity> {
+    MsgRequestServerResources(PacketByteBuf buffer) {
+        this(buffer.readCollection(size -> EnumSet.noneOf(ServerResources.Section.class), b -> b.readEnumConstant(ServerResources.Section.class)));
+    }
+
+    @Override
+    public void toBuffer(PacketByteBuf buffer) {
+        buffer.writeCollection(sections, PacketByteBuf::writeEnumConstant);
+    }
+
+    @Override
+    public void handle(ServerPlayerEntity sender) {
+        sections.forEach(section -> {
+            if (!ServerResources.claim(sender, section)) {
+                return;
+            }
+            ServerResources.Payload payload = ServerResources.get(section);
+            int count = payload.getChunkCount();
+            for (int i = 0; i < count; i++) {
+                int start = i * ServerResources.CHUNK_SIZE;
+                byte[] data = Arrays.copyOfRange(payload.data(), start, Math.min(payload.data().length, start + ServerResources.CHUNK_SIZE));
+                Channel.SERVER_RESOURCE_CHUNK.sendToPlayer(new MsgServerResourceChunk(section, payload.hash(), i, count, data), sender);
+            }
+        });
+    }
+}
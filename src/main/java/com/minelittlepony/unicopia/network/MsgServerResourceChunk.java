@@ -0,0 +1,31 @@
+package com.minelittlepony.unicopia.network;
+
+import com.sollace.fabwork.api.packets.Packet;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * Sent by the server with one piece of a compressed section of server resources.
+ */
+public record MsgServerResourceChunk (
+        ServerResources.Section section,
+        String hash,
+        int index,
+        int count,
+        byte[] data
+    ) implements Packet<PlayerEntity> {
+
+    MsgServerResourceChunk(PacketByteBuf buffer) {
+        this(buffer.readEnumConstant(ServerResources.Section.class), buffer.readString(), buffer.readVarInt(), buffer.readVarInt(), buffer.readByteArray());
+    }
+
+    @Override
+    public void toBuffer(PacketByteBuf buffer) {
+        buffer.writeEnumConstant(section);
+        buffer.writeString(hash);
+        buffer.writeVarInt(index);
+        buffer.writeVarInt(count);
+        buffer.writeByteArray(data);
+    }
+}
@@ -2,46 +2,31 @@ package com.minelittlepony.unicopia.network;
 
 import java.util.*;
 
-import com.minelittlepony.unicopia.InteractionManager;
-import com.minelittlepony.unicopia.ability.data.tree.TreeTypeLoader;
-import com.minelittlepony.unicopia.ability.magic.spell.trait.SpellTraits;
-import com.minelittlepony.unicopia.container.SpellbookChapterLoader;
-import com.minelittlepony.unicopia.diet.PonyDiets;
 import com.sollace.fabwork.api.packets.Packet;
 
 import net.minecraft.entity.player.PlayerEntity;
 import net.minecraft.network.PacketByteBuf;
-import net.minecraft.util.Identifier;
 
-public record MsgServerResources (
-        Map<Identifier, SpellTraits> traits,
-        Map<Identifier, ?> chapters,
-        Map<Identifier, TreeTypeLoader.TreeTypeDef> treeTypes,
-        PonyDiets diets
-    ) implements Packet<PlayerEntity> {
+/**
+ * Sent to the client when it joins, or the server's resources are reloaded,
+ * with the hashes of every section of resources the client needs.
+ * <p>
+ * The client replies with {@link MsgRequestServerResources} for any sections it doesn't already have cached.
+ */
+public record MsgServerResources (Map<ServerResources.Section, String> hashes) implements Packet<PlayerEntity> {
     public MsgServerResources() {
-        this(
-            SpellTraits.all(),
-            SpellbookChapterLoader.INSTANCE.getChapters(),
-            TreeTypeLoader.INSTANCE.getEntries(),
-            PonyDiets.getInstance()
-        );
+        this(new EnumMap<>(ServerResources.Section.class));
+        for (ServerResources.Section section : ServerResources.Section.values()) {
+            hashes.put(section, ServerResources.get(section).hash());
+        }
     }
 
     public MsgServerResources(PacketByteBuf buffer) {
-        this(
-            buffer.readMap(PacketByteBuf::readIdentifier, SpellTraits::fromPacket),
-            InteractionManager.instance().readChapters(buffer),
-            buffer.readMap(PacketByteBuf::readIdentifier, TreeTypeLoader.TreeTypeDef::new),
-            new PonyDiets(buffer)
-        );
+        this(buffer.readMap(size -> new EnumMap<>(ServerResources.Section.class), b -> b.readEnumConstant(ServerResources.Section.class), PacketByteBuf::readString));
     }
 
     @Override
     public void toBuffer(PacketByteBuf buffer) {
-        buffer.writeMap(traits, PacketByteBuf::writeIdentifier, (r, v) -> v.write(r));
-        buffer.writeMap(chapters, PacketByteBuf::writeIdentifier, (r, v) -> ((SpellbookChapterLoader.Chapter)v).write(r));
-        buffer.writeMap(treeTypes, PacketByteBuf::writeIdentifier, (r, v) -> v.write(r));
-        diets.toBuffer(buffer);
+        buffer.writeMap(hashes, PacketByteBuf::writeEnumConstant, PacketByteBuf::writeString);
     }
 }
@@ -0,0 +1,70 @@
+package com.minelittlepony.unicopia.network;
+
+import java.util.List;
+
+import com.sollace.fabwork.api.packets.Packet;
+
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.particle.ParticleType;
+import net.minecraft.registry.Registries;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * Sent by the server once per tick with all of the particles a player should see.
+ * <p>
+ * Particles are grouped by effect so each effect's parameters are only written once,
+ * and positions are sent as offsets from a shared origin.
+ */
+public record MsgSpawnParticles (Vec3d origin, List<Batch> batches) implements Packet<PlayerEntity> {
+    MsgSpawnParticles(PacketByteBuf buffer) {
+        this(new Vec3d(buffer.readDouble(), buffer.readDouble(), buffer.readDouble()), buffer.readList(Batch::new));
+    }
+
+    @Override
+    public void toBuffer(PacketByteBuf buffer) {
+        buffer.writeDouble(origin.x);
+        buffer.writeDouble(origin.y);
+        buffer.writeDouble(origin.z);
+        buffer.writeCollection(batches, (b, batch) -> batch.toBuffer(b));
+    }
+
+    /**
+     * A run of particles sharing the same effect.
+     *
+     * @param values Packed x, y, z offsets and x, y, z velocities for every particle in the batch.
+     */
+    public record Batch (ParticleEffect effect, float[] values) {
+        public static final int STRIDE = 6;
+
+        Batch(PacketByteBuf buffer) {
+            this(readEffect(buffer, buffer.readRegistryValue(Registries.PARTICLE_TYPE)), readValues(buffer));
+        }
+
+        public int size() {
+            return values.length / STRIDE;
+        }
+
+        void toBuffer(PacketByteBuf buffer) {
+            buffer.writeRegistryValue(Registries.PARTICLE_TYPE, effect.getType());
+            effect.write(buffer);
+            buffer.writeVarInt(size());
+            for (float value : values) {
+                buffer.writeFloat(value);
+            }
+        }
+
+        private static <T extends ParticleEffect> T readEffect(PacketByteBuf buffer, ParticleType<T> type) {
+            return type.getParametersFactory().read(type, buffer);
+        }
+
+        private static float[] readValues(PacketByteBuf buffer) {
+            float[] values = new float[buffer.readVarInt() * STRIDE];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = buffer.readFloat();
+            }
+            return values;
+        }
+    }
+}
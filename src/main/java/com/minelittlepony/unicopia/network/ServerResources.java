@@ -0,0 +1,128 @@
+package com.minelittlepony.unicopia.network;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.EnumMap;
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+import java.util.function.Consumer;
+import java.util.zip.DeflaterOutputStream;
+import java.util.zip.InflaterInputStream;
+
+import com.google.common.hash.Hashing;
+import com.minelittlepony.unicopia.ability.data.tree.TreeTypeLoader;
+import com.minelittlepony.unicopia.ability.magic.spell.trait.SpellTraits;
+import com.minelittlepony.unicopia.container.SpellbookChapterLoader;
+import com.minelittlepony.unicopia.diet.PonyDiets;
+
+import io.netty.buffer.ByteBufUtil;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.server.network.ServerPlayerEntity;
+
+/**
+ * Holds the serialised, compressed form of each section of data-driven resources sent to clients.
+ * <p>
+ * Sections are serialised once after each reload and identified by the hash of their contents,
+ * so clients can keep them cached between sessions and only ask for the ones they don't have.
+ * <p>
+ * Each manifest sent to a player lets them request each of its sections once. Repeated requests are ignored
+ * until they're sent a new manifest, so clients can't make the server send the same payloads over and over.
+ */
+public final class ServerResources {
+    public static final int CHUNK_SIZE = 32768;
+
+    private static final Map<Section, Payload> PAYLOADS = new EnumMap<>(Section.class);
+    private static final Map<UUID, Set<Section>> OUTSTANDING = new HashMap<>();
+
+    public static synchronized Payload get(Section section) {
+        return PAYLOADS.computeIfAbsent(section, Payload::of);
+    }
+
+    /**
+     * Discards the serialised sections so they are rebuilt from the loaders the next time they are needed.
+     */
+    public static synchronized void invalidate() {
+        PAYLOADS.clear();
+    }
+
+    /**
+     * Creates a manifest of the current sections to send to a player, and allows them to request each of them once.
+     */
+    public static synchronized MsgServerResources createManifest(ServerPlayerEntity player) {
+        MsgServerResources manifest = new MsgServerResources();
+        OUTSTANDING.put(player.getUuid(), EnumSet.allOf(Section.class));
+        return manifest;
+    }
+
+    /**
+     * Claims a section requested by a player.
+     *
+     * @return True if the section was offered to the player by the last manifest they were sent and hasn't been served yet.
+     */
+    public static synchronized boolean claim(ServerPlayerEntity player, Section section) {
+        Set<Section> sections = OUTSTANDING.get(player.getUuid());
+        return sections != null && sections.remove(section);
+    }
+
+    public static synchronized void forget(ServerPlayerEntity player) {
+        OUTSTANDING.remove(player.getUuid());
+    }
+
+    public static String hash(byte[] data) {
+        return Hashing.sha256().hashBytes(data).toString();
+    }
+
+    public static byte[] compress(byte[] data) {
+        ByteArrayOutputStream out = new ByteArrayOutputStream();
+        try (DeflaterOutputStream deflater = new DeflaterOutputStream(out)) {
+            deflater.write(data);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return out.toByteArray();
+    }
+
+    public static byte[] decompress(byte[] data) throws IOException {
+        try (InflaterInputStream inflater = new InflaterInputStream(new ByteArrayInputStream(data))) {
+            return inflater.readAllBytes();
+        }
+    }
+
+    private ServerResources() {}
+
+    public enum Section {
+        TRAITS(buffer -> buffer.writeMap(SpellTraits.all(), PacketByteBuf::writeIdentifier, (r, v) -> v.write(r))),
+        CHAPTERS(buffer -> buffer.writeMap(SpellbookChapterLoader.INSTANCE.getChapters(), PacketByteBuf::writeIdentifier, (r, v) -> v.write(r))),
+        TREE_TYPES(buffer -> buffer.writeMap(TreeTypeLoader.INSTANCE.getEntries(), PacketByteBuf::writeIdentifier, (r, v) -> v.write(r))),
+        DIETS(buffer -> PonyDiets.getInstance().toBuffer(buffer));
+
+        private final Consumer<PacketByteBuf> writer;
+
+        Section(Consumer<PacketByteBuf> writer) {
+            this.writer = writer;
+        }
+    }
+
+    /**
+     * @param hash The hash of the section's uncompressed contents
+     * @param data The section's compressed contents
+     */
+    public record Payload(String hash, byte[] data) {
+        static Payload of(Section section) {
+            PacketByteBuf buffer = new PacketByteBuf(Unpooled.buffer());
+            section.writer.accept(buffer);
+            byte[] contents = ByteBufUtil.getBytes(buffer);
+            return new Payload(hash(contents), compress(contents));
+        }
+
+        public int getChunkCount() {
+            return Math.max(1, (data.length + CHUNK_SIZE - 1) / CHUNK_SIZE);
+        }
+    }
+}
@@ -27,6 +27,19 @@ import net.minecraft.nbt.NbtCompound;
  * @param <T> The owning entity
  */
 public class EffectSync implements SpellContainer, NbtSerialisable {
+    /**
+     * Predicates that only depend on a spell's type, so whether they match can be cached until the contained spells change.
+     */
+    private static final SpellPredicate<?>[] INDEXED_TYPES = {
+            SpellPredicate.IS_PLACED,
+            SpellPredicate.IS_DISGUISE,
+            SpellPredicate.IS_SHIELD_LIKE,
+            SpellPredicate.IS_MIMIC,
+            SpellPredicate.CAN_SUPPRESS,
+            SpellPredicate.IS_TIMED,
+            SpellPredicate.IS_ORIENTED
+    };
+    private static final int ANY_SPELL = 1 << INDEXED_TYPES.length;
 
     private final NetworkedReferenceSet<Spell> spells;
 
@@ -37,6 +50,9 @@ public class EffectSync implements SpellContainer, NbtSerialisable {
     @Nullable
     private NbtCompound lastValue;
 
+    private int typesVersion = -1;
+    private int types;
+
     public EffectSync(Caster<?> owner, TrackedData<NbtCompound> param) {
         spells = new NetworkedReferenceSet<>(Spell::getUuid, () -> new SpellNetworkedReference<>(owner));
         this.owner = owner;
@@ -80,7 +96,39 @@ public class EffectSync implements SpellContainer, NbtSerialisable {
 
     @Override
     public boolean contains(@Nullable SpellPredicate<?> type) {
-        return read(type, true, false).findFirst().isPresent();
+        int index = type == null ? INDEXED_TYPES.length : indexOf(type);
+        if (index < 0) {
+            return read(type, true, false).findFirst().isPresent();
+        }
+        synchronize(false);
+        return (getTypes() & (1 << index)) != 0;
+    }
+
+    private static int indexOf(SpellPredicate<?> type) {
+        for (int i = 0; i < INDEXED_TYPES.length; i++) {
+            if (INDEXED_TYPES[i] == type) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    private int getTypes() {
+        int version = spells.getVersion();
+        if (version != typesVersion) {
+            int types = 0;
+            for (Spell spell : spells.getReferences().toList()) {
+                types |= ANY_SPELL;
+                for (int i = 0; i < INDEXED_TYPES.length; i++) {
+                    if (spell.findMatches(INDEXED_TYPES[i]).findFirst().isPresent()) {
+                        types |= 1 << i;
+                    }
+                }
+            }
+            this.types = types;
+            typesVersion = version;
+        }
+        return types;
     }
 
     @Override
@@ -157,10 +205,15 @@ public class EffectSync implements SpellContainer, NbtSerialisable {
         return false;
     }
 
+    @Override
+    public int getVersion() {
+        return spells.getVersion();
+    }
+
     @SuppressWarnings("unchecked")
     private <T extends Spell> Stream<T> read(@Nullable SpellPredicate<T> type, boolean synchronize, boolean sendUpdate) {
-        if (synchronize && spells.fromNbt(owner.asEntity().getDataTracker().get(param)) && sendUpdate) {
-            write();
+        if (synchronize) {
+            synchronize(sendUpdate);
         }
 
         if (type == null) {
@@ -169,6 +222,22 @@ public class EffectSync implements SpellContainer, NbtSerialisable {
         return (Stream<T>)spells.getReferences().flatMap(s -> s.findMatches(type));
     }
 
+    /**
+     * Brings the contained spells up to date with the tracked data, skipping the
+     * parse entirely if the tracked compound hasn't been replaced since we last read it.
+     */
+    private void synchronize(boolean sendUpdate) {
+        NbtCompound tracked = owner.asEntity().getDataTracker().get(param);
+        if (tracked != lastValue) {
+            lastValue = tracked;
+            if (spells.fromNbt(tracked) && sendUpdate) {
+                write();
+            }
+        } else if (sendUpdate) {
+            write();
+        }
+    }
+
     private boolean reduce(boolean update, Alteration alteration) {
         boolean initial = false;
         for (Spell i : read(null, update, false).toList()) {
@@ -182,6 +251,7 @@ public class EffectSync implements SpellContainer, NbtSerialisable {
     private void write() {
         if (spells.isDirty()) {
             owner.asEntity().getDataTracker().set(param, spells.toNbt());
+            lastValue = owner.asEntity().getDataTracker().get(param);
         }
     }
 
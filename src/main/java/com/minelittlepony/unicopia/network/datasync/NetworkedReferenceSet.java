@@ -30,11 +30,20 @@ public class NetworkedReferenceSet<T> {
     private boolean dirty;
     private boolean reading;
 
+    private int version;
+
     public NetworkedReferenceSet(Function<T, UUID> uuidConverter, Supplier<NetworkedReference<T>> factory) {
         this.uuidConverter = uuidConverter;
         this.factory = factory;
     }
 
+    /**
+     * A counter that increases every time references are added, removed, or replaced.
+     */
+    public synchronized int getVersion() {
+        return version;
+    }
+
     public synchronized boolean containsReference(UUID id) {
         return ids.contains(id);
     }
@@ -48,7 +57,10 @@ public class NetworkedReferenceSet<T> {
     }
 
     public synchronized boolean clear() {
-        dirty |= !ids.isEmpty() || !values.isEmpty();
+        if (!ids.isEmpty() || !values.isEmpty()) {
+            dirty = true;
+            version++;
+        }
         ids.clear();
         try {
             reading = true;
@@ -65,12 +77,16 @@ public class NetworkedReferenceSet<T> {
     public void addReference(@Nullable T newValue) {
         if (newValue != null) {
             addReference(uuidConverter.apply(newValue)).updateReference(newValue);
+            synchronized (this) {
+                version++;
+            }
         }
     }
 
     private synchronized NetworkedReference<T> addReference(UUID newValue) {
         return values.computeIfAbsent(newValue, id -> {
             dirty = true;
+            version++;
             ids.remove(id);
             ids.add(0, id);
             return factory.get();
@@ -90,10 +106,14 @@ public class NetworkedReferenceSet<T> {
     }
 
     synchronized void removeReference(UUID id) {
-        dirty |= ids.remove(id);
+        if (ids.remove(id)) {
+            dirty = true;
+            version++;
+        }
         NetworkedReference<T> i = values.remove(id);
         if (i != null) {
             dirty = true;
+            version++;
             try {
                 reading = true;
                 i.updateReference(null);
@@ -128,6 +148,10 @@ public class NetworkedReferenceSet<T> {
             return send[0];
         } finally {
             reading = false;
+            synchronized (this) {
+                // existing references may have been replaced by the incoming data
+                version++;
+            }
         }
     }
 
@@ -0,0 +1,122 @@
+package com.minelittlepony.unicopia.network.datasync;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+
+import org.jetbrains.annotations.Nullable;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.nbt.NbtElement;
+import net.minecraft.network.PacketByteBuf;
+
+/**
+ * Versioned baseline of a synchronised compound.
+ * <p>
+ * On the server this remembers the last compound sent to a client so only the top-level
+ * entries that changed need to be transmitted. On the client it holds the last compound received
+ * so incoming deltas can be merged back into a complete compound.
+ */
+public class SyncedCompound {
+    @Nullable
+    private NbtCompound baseline;
+    private int version = -1;
+
+    /**
+     * Discards the current baseline, forcing the next update to be sent in full.
+     */
+    public synchronized void reset() {
+        baseline = null;
+    }
+
+    /**
+     * Computes the changes between the last sent compound and the current one.
+     *
+     * @return The delta to send, or null if nothing has changed.
+     */
+    @Nullable
+    public synchronized Delta update(NbtCompound current, boolean forceFull) {
+        if (forceFull || baseline == null) {
+            baseline = current;
+            return new Delta(true, ++version, version, current, List.of());
+        }
+
+        NbtCompound changed = new NbtCompound();
+        for (String key : current.getKeys()) {
+            NbtElement value = current.get(key);
+            if (!Objects.equals(value, baseline.get(key))) {
+                changed.put(key, value);
+            }
+        }
+        List<String> removed = new ArrayList<>();
+        for (String key : baseline.getKeys()) {
+            if (!current.contains(key)) {
+                removed.add(key);
+            }
+        }
+
+        if (changed.isEmpty() && removed.isEmpty()) {
+            return null;
+        }
+
+        baseline = current;
+        int baseVersion = version;
+        return new Delta(false, baseVersion, ++version, changed, removed);
+    }
+
+    /**
+     * Merges a received delta into the current baseline.
+     *
+     * @return The complete compound, or empty if the delta was computed against a baseline we don't have.
+     */
+    public synchronized Optional<NbtCompound> apply(Delta delta) {
+        if (delta.full()) {
+            baseline = delta.values();
+        } else {
+            if (baseline == null || delta.baseVersion() != version) {
+                return Optional.empty();
+            }
+            delta.removed().forEach(baseline::remove);
+            delta.values().getKeys().forEach(key -> baseline.put(key, delta.values().get(key)));
+        }
+        version = delta.version();
+        return Optional.of(baseline.copy());
+    }
+
+    public record Delta (
+            boolean full,
+            int baseVersion,
+            int version,
+            NbtCompound values,
+            List<String> removed
+    ) {
+        /**
+         * Creates an unversioned full update for recipients that don't track a baseline.
+         */
+        public static Delta of(NbtCompound values) {
+            return new Delta(true, 0, 0, values, List.of());
+        }
+
+        public static Delta read(PacketByteBuf buffer) {
+            boolean full = buffer.readBoolean();
+            int version = buffer.readVarInt();
+            int baseVersion = full ? version : buffer.readVarInt();
+            NbtCompound values = buffer.readNbt();
+            List<String> removed = full ? List.of() : buffer.readList(PacketByteBuf::readString);
+            return new Delta(full, baseVersion, version, values == null ? new NbtCompound() : values, removed);
+        }
+
+        public void toBuffer(PacketByteBuf buffer) {
+            buffer.writeBoolean(full);
+            buffer.writeVarInt(version);
+            if (!full) {
+                buffer.writeVarInt(baseVersion);
+            }
+            buffer.writeNbt(values);
+            if (!full) {
+                buffer.writeCollection(removed, PacketByteBuf::writeString);
+            }
+        }
+    }
+}
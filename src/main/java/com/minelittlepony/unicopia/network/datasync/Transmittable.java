@@ -7,5 +7,11 @@ public interface Transmittable {
 
     void toSyncronisedNbt(NbtCompound compound);
 
+    default NbtCompound toSyncronisedNbt() {
+        NbtCompound compound = new NbtCompound();
+        toSyncronisedNbt(compound);
+        return compound;
+    }
+
     void fromSynchronizedNbt(NbtCompound compound);
 }
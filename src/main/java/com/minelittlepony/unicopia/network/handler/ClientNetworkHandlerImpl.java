@@ -1,40 +1,37 @@
 package com.minelittlepony.unicopia.network.handler;
 
-import java.util.Map;
-
 import com.minelittlepony.unicopia.USounds;
 import com.minelittlepony.unicopia.ability.data.Rot;
-import com.minelittlepony.unicopia.ability.data.tree.TreeTypes;
-import com.minelittlepony.unicopia.ability.magic.spell.trait.SpellTraits;
 import com.minelittlepony.unicopia.ability.magic.spell.trait.Trait;
 import com.minelittlepony.unicopia.client.ClientBlockDestructionManager;
 import com.minelittlepony.unicopia.client.DiscoveryToast;
 import com.minelittlepony.unicopia.client.UnicopiaClient;
 import com.minelittlepony.unicopia.client.gui.TribeSelectionScreen;
-import com.minelittlepony.unicopia.client.gui.spellbook.ClientChapters;
-import com.minelittlepony.unicopia.client.gui.spellbook.SpellbookChapterList.Chapter;
-import com.minelittlepony.unicopia.diet.PonyDiets;
 import com.minelittlepony.unicopia.entity.player.Pony;
 import com.minelittlepony.unicopia.network.*;
 import com.minelittlepony.unicopia.network.MsgCasterLookRequest.Reply;
 
 import net.minecraft.client.MinecraftClient;
 import net.minecraft.entity.player.PlayerEntity;
-import net.minecraft.util.Identifier;
+import net.minecraft.util.math.Vec3d;
 
 public class ClientNetworkHandlerImpl {
     private final MinecraftClient client = MinecraftClient.getInstance();
 
+    private final ServerResourceCache resourceCache = new ServerResourceCache();
+
     public ClientNetworkHandlerImpl() {
         Channel.SERVER_SELECT_TRIBE.receiver().addPersistentListener(this::handleTribeScreen);
         Channel.SERVER_BLOCK_DESTRUCTION.receiver().addPersistentListener(this::handleBlockDestruction);
         Channel.CANCEL_PLAYER_ABILITY.receiver().addPersistentListener(this::handleCancelAbility);
         Channel.UNLOCK_TRAITS.receiver().addPersistentListener(this::handleUnlockTraits);
         Channel.SERVER_RESOURCES.receiver().addPersistentListener(this::handleServerResources);
+        Channel.SERVER_RESOURCE_CHUNK.receiver().addPersistentListener(this::handleServerResourceChunk);
         Channel.SERVER_SKY_ANGLE.receiver().addPersistentListener(this::handleSkyAngle);
         Channel.SERVER_ZAP_STAGE.receiver().addPersistentListener(this::handleZapStage);
         Channel.SERVER_PLAYER_ANIMATION_CHANGE.receiver().addPersistentListener(this::handlePlayerAnimation);
         Channel.SERVER_REQUEST_PLAYER_LOOK.receiver().addPersistentListener(this::handleCasterLookRequest);
+        Channel.SERVER_SPAWN_PARTICLES.receiver().addPersistentListener(this::handleSpawnParticles);
     }
 
     private void handleTribeScreen(PlayerEntity sender, MsgTribeSelect packet) {
@@ -44,9 +41,7 @@ public class ClientNetworkHandlerImpl {
     private void handleBlockDestruction(PlayerEntity sender, MsgBlockDestruction packet) {
         ClientBlockDestructionManager destr = ((ClientBlockDestructionManager.Source)client.worldRenderer).getDestructionManager();
 
-        packet.destructions().forEach((i, d) -> {
-            destr.setBlockDestruction(i, d);
-        });
+        packet.sections().forEach(section -> section.forEach(destr::setBlockDestruction));
     }
 
     private void handleCancelAbility(PlayerEntity sender, MsgCancelPlayerAbility packet) {
@@ -68,12 +63,12 @@ public class ClientNetworkHandlerImpl {
         UnicopiaClient.getInstance().setZapAppleStage(packet.stage());
     }
 
-    @SuppressWarnings("unchecked")
     private void handleServerResources(PlayerEntity sender, MsgServerResources packet) {
-        SpellTraits.load(packet.traits());
-        ClientChapters.load((Map<Identifier, Chapter>)packet.chapters());
-        TreeTypes.load(packet.treeTypes());
-        PonyDiets.load(packet.diets());
+        resourceCache.onManifestReceived(packet);
+    }
+
+    private void handleServerResourceChunk(PlayerEntity sender, MsgServerResourceChunk packet) {
+        resourceCache.onChunkReceived(packet);
     }
 
     private void handlePlayerAnimation(PlayerEntity sender, MsgPlayerAnimationChange packet) {
@@ -93,4 +88,20 @@ public class ClientNetworkHandlerImpl {
 
         Channel.CLIENT_CASTER_LOOK.sendToServer(new Reply(packet.spellId(), Rot.of(player)));
     }
+
+    private void handleSpawnParticles(PlayerEntity sender, MsgSpawnParticles packet) {
+        if (client.world == null) {
+            return;
+        }
+        Vec3d origin = packet.origin();
+        packet.batches().forEach(batch -> {
+            float[] values = batch.values();
+            for (int i = 0; i < values.length; i += MsgSpawnParticles.Batch.STRIDE) {
+                client.world.addParticle(batch.effect(),
+                        origin.x + values[i], origin.y + values[i + 1], origin.z + values[i + 2],
+                        values[i + 3], values[i + 4], values[i + 5]
+                );
+            }
+        });
+    }
 }
@@ -0,0 +1,159 @@
+package com.minelittlepony.unicopia.network.handler;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.*;
+import java.util.regex.Pattern;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.minelittlepony.unicopia.InteractionManager;
+import com.minelittlepony.unicopia.Unicopia;
+import com.minelittlepony.unicopia.ability.data.tree.TreeTypeLoader;
+import com.minelittlepony.unicopia.ability.data.tree.TreeTypes;
+import com.minelittlepony.unicopia.ability.magic.spell.trait.SpellTraits;
+import com.minelittlepony.unicopia.client.gui.spellbook.ClientChapters;
+import com.minelittlepony.unicopia.client.gui.spellbook.SpellbookChapterList.Chapter;
+import com.minelittlepony.unicopia.diet.PonyDiets;
+import com.minelittlepony.unicopia.network.*;
+import com.minelittlepony.unicopia.network.ServerResources.Section;
+
+import io.netty.buffer.Unpooled;
+import net.fabricmc.loader.api.FabricLoader;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.util.Identifier;
+
+/**
+ * Client-side cache of server resource sections, stored on disk by the hash of their contents
+ * so they only have to be downloaded again when the server's copy changes.
+ */
+class ServerResourceCache {
+    /**
+     * The most chunks a section may be split into, 8MiB of compressed data at the server's chunk size.
+     */
+    private static final int MAX_CHUNKS = 256;
+    /**
+     * Hashes name files in the cache, so only accept the exact form the server produces (lowercase hex sha256).
+     */
+    private static final Pattern HASH_PATTERN = Pattern.compile("[0-9a-f]{64}");
+
+    private final Path directory = FabricLoader.getInstance().getGameDir().resolve("unicopia").resolve("server_resources");
+
+    private final Map<Section, PendingSection> pending = new EnumMap<>(Section.class);
+
+    public void onManifestReceived(MsgServerResources packet) {
+        Set<Section> missing = EnumSet.noneOf(Section.class);
+        pending.clear();
+        packet.hashes().forEach((section, hash) -> {
+            if (!isValidHash(hash)) {
+                Unicopia.LOGGER.warn("Ignoring server resources for section {} with malformed hash", section);
+                return;
+            }
+            byte[] cached = read(hash);
+            if (cached == null || !apply(section, hash, cached)) {
+                missing.add(section);
+            }
+        });
+        if (!missing.isEmpty()) {
+            Channel.CLIENT_REQUEST_RESOURCES.sendToServer(new MsgRequestServerResources(missing));
+        }
+    }
+
+    public void onChunkReceived(MsgServerResourceChunk packet) {
+        if (!isValidHash(packet.hash())) {
+            Unicopia.LOGGER.warn("Ignoring server resources chunk for section {} with malformed hash", packet.section());
+            return;
+        }
+        if (packet.count() <= 0 || packet.count() > MAX_CHUNKS || packet.index() < 0 || packet.index() >= packet.count()) {
+            Unicopia.LOGGER.warn("Ignoring server resources chunk {}/{} for section {}", packet.index(), packet.count(), packet.section());
+            return;
+        }
+        PendingSection section = pending.get(packet.section());
+        if (section == null || !section.hash.equals(packet.hash()) || section.chunks.length != packet.count()) {
+            section = new PendingSection(packet.hash(), new byte[packet.count()][]);
+            pending.put(packet.section(), section);
+        }
+        section.chunks[packet.index()] = packet.data();
+
+        for (byte[] chunk : section.chunks) {
+            if (chunk == null) {
+                return;
+            }
+        }
+
+        pending.remove(packet.section());
+        byte[] data = section.join();
+        if (apply(packet.section(), packet.hash(), data)) {
+            write(packet.hash(), data);
+        } else {
+            Unicopia.LOGGER.warn("Received corrupted server resources for section {}", packet.section());
+        }
+    }
+
+    private static boolean isValidHash(String hash) {
+        return HASH_PATTERN.matcher(hash).matches();
+    }
+
+    @Nullable
+    private byte[] read(String hash) {
+        Path file = directory.resolve(hash + ".bin");
+        if (!Files.isRegularFile(file)) {
+            return null;
+        }
+        try {
+            return Files.readAllBytes(file);
+        } catch (IOException e) {
+            Unicopia.LOGGER.warn("Could not read cached server resources {}", file, e);
+            return null;
+        }
+    }
+
+    private void write(String hash, byte[] data) {
+        Path file = directory.resolve(hash + ".bin");
+        try {
+            Files.createDirectories(directory);
+            Files.write(file, data);
+        } catch (IOException e) {
+            Unicopia.LOGGER.warn("Could not write cached server resources {}", file, e);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private boolean apply(Section section, String hash, byte[] compressed) {
+        byte[] contents;
+        try {
+            contents = ServerResources.decompress(compressed);
+        } catch (IOException e) {
+            return false;
+        }
+        if (!ServerResources.hash(contents).equals(hash)) {
+            return false;
+        }
+
+        PacketByteBuf buffer = new PacketByteBuf(Unpooled.wrappedBuffer(contents));
+        switch (section) {
+            case TRAITS -> SpellTraits.load(buffer.readMap(PacketByteBuf::readIdentifier, SpellTraits::fromPacket));
+            case CHAPTERS -> ClientChapters.load((Map<Identifier, Chapter>)InteractionManager.instance().readChapters(buffer));
+            case TREE_TYPES -> TreeTypes.load(buffer.readMap(PacketByteBuf::readIdentifier, TreeTypeLoader.TreeTypeDef::new));
+            case DIETS -> PonyDiets.load(new PonyDiets(buffer));
+        }
+        return true;
+    }
+
+    private record PendingSection(String hash, byte[][] chunks) {
+        byte[] join() {
+            int length = 0;
+            for (byte[] chunk : chunks) {
+                length += chunk.length;
+            }
+            byte[] data = new byte[length];
+            int offset = 0;
+            for (byte[] chunk : chunks) {
+                System.arraycopy(chunk, 0, data, offset, chunk.length);
+                offset += chunk.length;
+            }
+            return data;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.minelittlepony.unicopia.particle;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import com.minelittlepony.unicopia.Unicopia;
+import com.minelittlepony.unicopia.network.Channel;
+import com.minelittlepony.unicopia.network.MsgSpawnParticles;
+import com.minelittlepony.unicopia.server.world.WorldOverlay;
+
+import io.netty.buffer.Unpooled;
+import it.unimi.dsi.fastutil.doubles.DoubleArrayList;
+import it.unimi.dsi.fastutil.objects.Object2ObjectLinkedOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.network.PacketByteBuf;
+import net.minecraft.particle.ParticleEffect;
+import net.minecraft.particle.ParticleType;
+import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+
+/**
+ * Collects the particles spawned on the server during a tick and sends them to
+ * each nearby player as a single packet at the end of the tick.
+ * <p>
+ * Players only receive particles within vanilla's particle range, and no more than the
+ * configured per-player budget. Particles over budget are thinned out evenly across
+ * every effect so no single spell can starve out the rest.
+ */
+public class ParticleBroadcaster extends PersistentState {
+    private static final Identifier ID = Unicopia.id("particle_broadcaster");
+    private static final double RANGE_SQUARED = 32 * 32;
+    private static final int STRIDE = MsgSpawnParticles.Batch.STRIDE;
+
+    private final Object2ObjectMap<EffectKey, Batch> pending = new Object2ObjectLinkedOpenHashMap<>();
+    private final PacketByteBuf scratch = new PacketByteBuf(Unpooled.buffer());
+    private int pendingCount;
+
+    private long emitted;
+    private long dropped;
+
+    public static ParticleBroadcaster get(World world) {
+        return WorldOverlay.getPersistableStorage(world, ID, ParticleBroadcaster::new, ParticleBroadcaster::new);
+    }
+
+    ParticleBroadcaster(World world, NbtCompound compound) {
+        this(world);
+    }
+
+    ParticleBroadcaster(World world) {
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound compound) {
+        return compound;
+    }
+
+    /**
+     * The total number of particles sent to players.
+     */
+    public long getEmitted() {
+        return emitted;
+    }
+
+    /**
+     * The total number of particles withheld from players for being over budget.
+     */
+    public long getDropped() {
+        return dropped;
+    }
+
+    public void addParticle(ParticleEffect effect, double x, double y, double z, double vX, double vY, double vZ) {
+        DoubleArrayList values = pending.computeIfAbsent(getKey(effect), k -> new Batch(effect, new DoubleArrayList())).values();
+        values.add(x);
+        values.add(y);
+        values.add(z);
+        values.add(vX);
+        values.add(vY);
+        values.add(vZ);
+        pendingCount++;
+    }
+
+    public void flush(ServerWorld world) {
+        if (pendingCount == 0) {
+            return;
+        }
+
+        int budget = Math.max(0, Unicopia.getConfig().particleBudgetPerPlayer.get());
+
+        for (ServerPlayerEntity player : world.getPlayers()) {
+            int candidates = 0;
+            for (Batch batch : pending.values()) {
+                DoubleArrayList values = batch.values();
+                for (int i = 0; i < values.size(); i += STRIDE) {
+                    if (isInRange(player, values, i)) {
+                        candidates++;
+                    }
+                }
+            }
+
+            if (candidates == 0) {
+                continue;
+            }
+
+            int sent = Math.min(candidates, budget);
+            emitted += sent;
+            dropped += candidates - sent;
+
+            if (sent == 0) {
+                continue;
+            }
+
+            List<MsgSpawnParticles.Batch> batches = new ArrayList<>();
+            int index = 0;
+            for (Batch batch : pending.values()) {
+                DoubleArrayList values = batch.values();
+                float[] selected = new float[Math.min(sent, values.size() / STRIDE) * STRIDE];
+                int size = 0;
+                for (int i = 0; i < values.size(); i += STRIDE) {
+                    if (!isInRange(player, values, i)) {
+                        continue;
+                    }
+                    // keep an evenly spaced subset of the candidates when we're over budget
+                    if ((long)index * sent / candidates != (long)(index + 1) * sent / candidates) {
+                        selected[size++] = (float)(values.getDouble(i) - player.getX());
+                        selected[size++] = (float)(values.getDouble(i + 1) - player.getY());
+                        selected[size++] = (float)(values.getDouble(i + 2) - player.getZ());
+                        selected[size++] = (float)values.getDouble(i + 3);
+                        selected[size++] = (float)values.getDouble(i + 4);
+                        selected[size++] = (float)values.getDouble(i + 5);
+                    }
+                    index++;
+                }
+                if (size > 0) {
+                    batches.add(new MsgSpawnParticles.Batch(batch.effect(), size == selected.length ? selected : Arrays.copyOf(selected, size)));
+                }
+            }
+
+            Channel.SERVER_SPAWN_PARTICLES.sendToPlayer(new MsgSpawnParticles(player.getPos(), batches), player);
+        }
+
+        pending.clear();
+        pendingCount = 0;
+    }
+
+    /**
+     * Most effects don't implement equals, so they're grouped by their type and the parameters they'd send to clients instead.
+     */
+    private EffectKey getKey(ParticleEffect effect) {
+        scratch.clear();
+        effect.write(scratch);
+        byte[] parameters = new byte[scratch.readableBytes()];
+        scratch.readBytes(parameters);
+        return new EffectKey(effect.getType(), ByteBuffer.wrap(parameters));
+    }
+
+    private static boolean isInRange(ServerPlayerEntity player, DoubleArrayList values, int i) {
+        return player.squaredDistanceTo(values.getDouble(i), values.getDouble(i + 1), values.getDouble(i + 2)) <= RANGE_SQUARED;
+    }
+
+    private record EffectKey(ParticleType<?> type, ByteBuffer parameters) {}
+
+    private record Batch(ParticleEffect effect, DoubleArrayList values) {}
+}
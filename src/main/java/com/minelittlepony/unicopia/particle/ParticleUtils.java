@@ -36,10 +36,8 @@ public interface ParticleUtils {
     }
 
     static void spawnParticle(World world, ParticleEffect effect, double x, double y, double z, double vX, double vY, double vZ) {
-        if (world instanceof ServerWorld sw) {
-            Vec3d vel = new Vec3d(vX, vY, vZ);
-
-            sw.spawnParticles(effect, x, y, z, 1, vX, vY, vZ, vel.length());
+        if (world instanceof ServerWorld) {
+            ParticleBroadcaster.get(world).addParticle(effect, x, y, z, vX, vY, vZ);
         } else {
             world.addParticle(effect, x, y, z, vX, vY, vZ);
         }
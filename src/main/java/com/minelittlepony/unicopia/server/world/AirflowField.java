@@ -0,0 +1,164 @@
+package com.minelittlepony.unicopia.server.world;
+
+import org.jetbrains.annotations.Nullable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import net.minecraft.block.BlockState;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.Heightmap;
+import net.minecraft.world.World;
+import net.minecraft.world.chunk.Chunk;
+import net.minecraft.world.chunk.ChunkStatus;
+
+/**
+ * A coarse per-chunk cache of terrain altitude and surface materials used by flight physics.
+ * <p>
+ * Each chunk is sampled on a 4x4 grid of columns from its surface heightmap. Lookups interpolate
+ * between the nearest grid points and return {@link Float#NaN} when the position is below the
+ * sampled surface or the surrounding chunks are not loaded, in which case callers have to fall
+ * back to probing the world directly.
+ */
+public class AirflowField {
+    private static final int CELL_SHIFT = 2;
+    private static final int CELL_SIZE = 1 << CELL_SHIFT;
+    private static final int CELLS = 16 >> CELL_SHIFT;
+    private static final long LIFETIME = 200;
+
+    private final World world;
+
+    private final Long2ObjectMap<Grid> grids = new Long2ObjectOpenHashMap<>();
+
+    AirflowField(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Gets the interpolated height of the given position above the terrain below it.
+     */
+    public float getAltitude(BlockPos pos) {
+        int gx = pos.getX() >> CELL_SHIFT;
+        int gz = pos.getZ() >> CELL_SHIFT;
+        synchronized (grids) {
+            Grid a = getGrid(gx, gz);
+            Grid b = getGrid(gx + 1, gz);
+            Grid c = getGrid(gx, gz + 1);
+            Grid d = getGrid(gx + 1, gz + 1);
+            if (a == null || b == null || c == null || d == null) {
+                return Float.NaN;
+            }
+            int s00 = a.getSurface(gx, gz);
+            int s10 = b.getSurface(gx + 1, gz);
+            int s01 = c.getSurface(gx, gz + 1);
+            int s11 = d.getSurface(gx + 1, gz + 1);
+            if (pos.getY() <= Math.max(Math.max(s00, s10), Math.max(s01, s11))) {
+                return Float.NaN;
+            }
+            return pos.getY() - (float)MathHelper.lerp2(getDelta(pos.getX()), getDelta(pos.getZ()), s00, s10, s01, s11);
+        }
+    }
+
+    /**
+     * Gets the interpolated surface temperature of the terrain below the given position.
+     */
+    public double getSurfaceTemperature(BlockPos pos) {
+        int gx = pos.getX() >> CELL_SHIFT;
+        int gz = pos.getZ() >> CELL_SHIFT;
+        synchronized (grids) {
+            Grid a = getGrid(gx, gz);
+            Grid b = getGrid(gx + 1, gz);
+            Grid c = getGrid(gx, gz + 1);
+            Grid d = getGrid(gx + 1, gz + 1);
+            if (a == null || b == null || c == null || d == null) {
+                return Double.NaN;
+            }
+            return MathHelper.lerp2(getDelta(pos.getX()), getDelta(pos.getZ()),
+                    WeatherConditions.getMaterialSurfaceTemperature(a.getSurfaceState(gx, gz), world),
+                    WeatherConditions.getMaterialSurfaceTemperature(b.getSurfaceState(gx + 1, gz), world),
+                    WeatherConditions.getMaterialSurfaceTemperature(c.getSurfaceState(gx, gz + 1), world),
+                    WeatherConditions.getMaterialSurfaceTemperature(d.getSurfaceState(gx + 1, gz + 1), world)
+            );
+        }
+    }
+
+    public void onBlockChanged(BlockPos pos) {
+        if ((pos.getX() & (CELL_SIZE - 1)) != 0 || (pos.getZ() & (CELL_SIZE - 1)) != 0) {
+            return;
+        }
+        long key = ChunkPos.toLong(ChunkSectionPos.getSectionCoord(pos.getX()), ChunkSectionPos.getSectionCoord(pos.getZ()));
+        synchronized (grids) {
+            Grid grid = grids.get(key);
+            if (grid != null && pos.getY() >= grid.getSurface(pos.getX() >> CELL_SHIFT, pos.getZ() >> CELL_SHIFT)) {
+                grids.remove(key);
+            }
+        }
+    }
+
+    public void invalidate(ChunkPos pos) {
+        invalidate(pos.toLong());
+    }
+
+    private void invalidate(long chunkPos) {
+        synchronized (grids) {
+            grids.remove(chunkPos);
+        }
+    }
+
+    private static double getDelta(int coordinate) {
+        return (coordinate & (CELL_SIZE - 1)) / (double)CELL_SIZE;
+    }
+
+    @Nullable
+    private Grid getGrid(int gx, int gz) {
+        int chunkX = gx >> (4 - CELL_SHIFT);
+        int chunkZ = gz >> (4 - CELL_SHIFT);
+        long key = ChunkPos.toLong(chunkX, chunkZ);
+        long time = world.getTime();
+        Grid grid = grids.get(key);
+        if (grid == null || grid.expiry < time) {
+            Chunk chunk = world.getChunk(chunkX, chunkZ, ChunkStatus.FULL, false);
+            if (chunk == null) {
+                grids.remove(key);
+                return null;
+            }
+            grid = new Grid(chunk, time + LIFETIME);
+            grids.put(key, grid);
+        }
+        return grid;
+    }
+
+    private static final class Grid {
+        private final int[] surfaces = new int[CELLS * CELLS];
+        private final BlockState[] states = new BlockState[CELLS * CELLS];
+        private final long expiry;
+
+        Grid(Chunk chunk, long expiry) {
+            this.expiry = expiry;
+            BlockPos.Mutable mutable = new BlockPos.Mutable();
+            int startX = chunk.getPos().getStartX();
+            int startZ = chunk.getPos().getStartZ();
+            for (int x = 0; x < CELLS; x++) {
+                for (int z = 0; z < CELLS; z++) {
+                    int i = index(x, z);
+                    surfaces[i] = chunk.sampleHeightmap(Heightmap.Type.WORLD_SURFACE, x << CELL_SHIFT, z << CELL_SHIFT);
+                    states[i] = chunk.getBlockState(mutable.set(startX + (x << CELL_SHIFT), surfaces[i], startZ + (z << CELL_SHIFT)));
+                }
+            }
+        }
+
+        int getSurface(int gx, int gz) {
+            return surfaces[index(gx & (CELLS - 1), gz & (CELLS - 1))];
+        }
+
+        BlockState getSurfaceState(int gx, int gz) {
+            return states[index(gx & (CELLS - 1), gz & (CELLS - 1))];
+        }
+
+        private static int index(int x, int z) {
+            return x * CELLS + z;
+        }
+    }
+}
@@ -1,9 +1,13 @@
 package com.minelittlepony.unicopia.server.world;
 
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Supplier;
 
+import org.jetbrains.annotations.Nullable;
+
 import com.google.common.base.Suppliers;
 import com.minelittlepony.unicopia.Unicopia;
 import com.minelittlepony.unicopia.network.Channel;
@@ -12,13 +16,26 @@ import com.minelittlepony.unicopia.util.Tickable;
 
 import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
 import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.Reference2ObjectOpenHashMap;
 import net.minecraft.block.BlockState;
 import net.minecraft.nbt.NbtCompound;
 import net.minecraft.server.network.ServerPlayerEntity;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.world.PersistentState;
 import net.minecraft.world.World;
 
+/**
+ * Tracks the damage done to blocks by earth ponies stomping and kicking.
+ * <p>
+ * Damage is stored per chunk section in packed primitive arrays, and only sections
+ * with changes since the last tick are synced to the players watching them.
+ */
 public class BlockDestructionManager implements Tickable {
     private static final Identifier ID = Unicopia.id("destruction_manager");
 
@@ -26,7 +43,14 @@ public class BlockDestructionManager implements Tickable {
     public static final int UNSET_DAMAGE = -1;
     public static final int MAX_DAMAGE = 10;
 
-    private final WorldOverlay<Destruction> chunks;
+    private static final int MAX_PACKET_ENTRIES = 65536;
+
+    private final World world;
+    private final Storage storage;
+
+    private final LongSet dirtySections = new LongOpenHashSet();
+
+    private final Object locker = new Object();
 
     public static Supplier<BlockDestructionManager> create(World world) {
         return Suppliers.memoize(() -> new BlockDestructionManager(world));
@@ -37,17 +61,29 @@ public class BlockDestructionManager implements Tickable {
     }
 
     private BlockDestructionManager(World world) {
-        this.chunks = WorldOverlay.getOverlay(world, ID, w -> new WorldOverlay<>(world, Destruction::new, this::sendUpdates));
+        this.world = world;
+        this.storage = WorldOverlay.getPersistableStorage(world, ID, Storage::new, Storage::new);
     }
 
     public float getBlockDestruction(BlockPos pos) {
-        Destruction destr = chunks.getState(pos);
-        return destr == null ? UNSET_DAMAGE : destr.amount;
+        synchronized (locker) {
+            Section section = storage.sections.get(ChunkSectionPos.toLong(pos));
+            if (section == null) {
+                return UNSET_DAMAGE;
+            }
+            int index = section.indexOf(ChunkSectionPos.packLocal(pos));
+            return index < 0 ? UNSET_DAMAGE : section.damage[index];
+        }
     }
 
     public void setBlockDestruction(BlockPos pos, float amount) {
-        chunks.getOrCreateState(pos).set(amount);
-        chunks.markDirty();
+        synchronized (locker) {
+            long key = ChunkSectionPos.toLong(pos);
+            Section section = storage.sections.computeIfAbsent(key, Section::new);
+            section.set(section.getOrAdd(ChunkSectionPos.packLocal(pos)), amount);
+            dirtySections.add(key);
+            storage.markDirty();
+        }
     }
 
     public float damageBlock(BlockPos pos, float amount) {
@@ -60,75 +96,228 @@ public class BlockDestructionManager implements Tickable {
     }
 
     public void onBlockChanged(BlockPos pos, BlockState oldState, BlockState newstate) {
-        if (oldState.getBlock() != newstate.getBlock()) {
+        if (oldState.getBlock() != newstate.getBlock() && getBlockDestruction(pos) != UNSET_DAMAGE) {
             setBlockDestruction(pos, UNSET_DAMAGE);
         }
     }
 
     @Override
     public void tick() {
-        chunks.tick();
+        synchronized (locker) {
+            if (!storage.sections.isEmpty()) {
+                storage.sections.values().removeIf(section -> section.tick(dirtySections));
+            }
+
+            if (!dirtySections.isEmpty()) {
+                if (world instanceof ServerWorld serverWorld) {
+                    sendUpdates(serverWorld);
+                }
+                dirtySections.clear();
+            }
+        }
     }
 
-    private void sendUpdates(Long2ObjectMap<Destruction> destructions, List<ServerPlayerEntity> players) {
-        Long2ObjectOpenHashMap<Float> values = new Long2ObjectOpenHashMap<>();
+    private void sendUpdates(ServerWorld world) {
+        Map<ServerPlayerEntity, List<MsgBlockDestruction.Section>> updates = new Reference2ObjectOpenHashMap<>();
 
-        destructions.forEach((blockPos, item) -> {
-            if (item.dirty) {
-                item.dirty = false;
-                values.put(blockPos.longValue(), (Float)item.amount);
+        dirtySections.forEach(key -> {
+            @Nullable
+            Section section = storage.sections.get(key);
+            if (section == null) {
+                return;
             }
-        });
 
-        MsgBlockDestruction msg = new MsgBlockDestruction(values);
+            @Nullable
+            MsgBlockDestruction.Section update = section.collectUpdates();
+            if (update == null) {
+                return;
+            }
 
-        if (msg.toBuffer().writerIndex() > 1048576) {
-            throw new IllegalStateException("Payload may not be larger than 1048576 bytes. Here's what we were trying to send: ["
-                    + values.size() + "]\n"
-                    + Arrays.toString(values.values().stream().mapToDouble(Float::doubleValue).toArray()));
-        }
+            int x = ChunkSectionPos.unpackX(key);
+            int z = ChunkSectionPos.unpackZ(key);
+            if (!world.getChunkManager().isChunkLoaded(x, z)) {
+                return;
+            }
+
+            for (ServerPlayerEntity player : world.getChunkManager().threadedAnvilChunkStorage.getPlayersWatchingChunk(new ChunkPos(x, z), false)) {
+                updates.computeIfAbsent(player, p -> new ArrayList<>()).add(update);
+            }
+        });
 
-        players.forEach(player -> {
-            if (player instanceof ServerPlayerEntity) {
-                Channel.SERVER_BLOCK_DESTRUCTION.sendToPlayer(msg, player);
+        updates.forEach((player, sections) -> {
+            List<MsgBlockDestruction.Section> batch = new ArrayList<>();
+            int entries = 0;
+            for (MsgBlockDestruction.Section section : sections) {
+                if (entries + section.positions().length > MAX_PACKET_ENTRIES && !batch.isEmpty()) {
+                    Channel.SERVER_BLOCK_DESTRUCTION.sendToPlayer(new MsgBlockDestruction(batch), player);
+                    batch = new ArrayList<>();
+                    entries = 0;
+                }
+                batch.add(section);
+                entries += section.positions().length;
             }
+            Channel.SERVER_BLOCK_DESTRUCTION.sendToPlayer(new MsgBlockDestruction(batch), player);
         });
     }
 
-    private class Destruction implements WorldOverlay.State {
-        float amount = UNSET_DAMAGE;
-        int age = DESTRUCTION_COOLDOWN;
-        boolean dirty;
+    /**
+     * The damaged blocks within a single chunk section, stored as parallel arrays indexed by entry.
+     */
+    private static final class Section {
+        private final long pos;
 
-        @Override
-        public boolean tick() {
-            if (age-- > 0) {
-                return false;
+        private short[] positions = new short[8];
+        private byte[] damage = new byte[8];
+        private byte[] age = new byte[8];
+        private boolean[] dirty = new boolean[8];
+        private int size;
+
+        Section(long pos) {
+            this.pos = pos;
+        }
+
+        int indexOf(short position) {
+            for (int i = 0; i < size; i++) {
+                if (positions[i] == position) {
+                    return i;
+                }
+            }
+            return -1;
+        }
+
+        int getOrAdd(short position) {
+            int index = indexOf(position);
+            if (index >= 0) {
+                return index;
+            }
+            if (size == positions.length) {
+                int capacity = size * 2;
+                positions = Arrays.copyOf(positions, capacity);
+                damage = Arrays.copyOf(damage, capacity);
+                age = Arrays.copyOf(age, capacity);
+                dirty = Arrays.copyOf(dirty, capacity);
+            }
+            positions[size] = position;
+            damage[size] = UNSET_DAMAGE;
+            age[size] = DESTRUCTION_COOLDOWN;
+            dirty[size] = false;
+            return size++;
+        }
+
+        void set(int index, float amount) {
+            age[index] = DESTRUCTION_COOLDOWN;
+            damage[index] = (byte)(amount >= 0 && amount < MAX_DAMAGE ? amount : UNSET_DAMAGE);
+            dirty[index] = true;
+        }
+
+        private void remove(int index) {
+            size--;
+            positions[index] = positions[size];
+            damage[index] = damage[size];
+            age[index] = age[size];
+            dirty[index] = dirty[size];
+        }
+
+        /**
+         * Decays every block in this section that hasn't been damaged recently.
+         *
+         * @return True if the section is now empty and can be removed.
+         */
+        boolean tick(LongSet dirtySections) {
+            for (int i = 0; i < size; i++) {
+                if (age[i]-- > 0) {
+                    continue;
+                }
+
+                if (damage[i] >= 0) {
+                    set(i, damage[i] - 1);
+                    dirtySections.add(pos);
+                }
+
+                if (damage[i] < 0) {
+                    remove(i--);
+                }
+            }
+            return size == 0;
+        }
+
+        @Nullable
+        MsgBlockDestruction.Section collectUpdates() {
+            int count = 0;
+            for (int i = 0; i < size; i++) {
+                if (dirty[i]) {
+                    count++;
+                }
+            }
+            if (count == 0) {
+                return null;
             }
 
-            if (amount >= 0) {
-                set(amount - 1);
+            short[] changedPositions = new short[count];
+            byte[] changedDamage = new byte[count];
+            for (int i = 0, j = 0; i < size; i++) {
+                if (dirty[i]) {
+                    dirty[i] = false;
+                    changedPositions[j] = positions[i];
+                    changedDamage[j++] = damage[i];
+                }
             }
-            return amount < 0 || age-- <= 0;
+            return new MsgBlockDestruction.Section(pos, changedPositions, changedDamage);
         }
 
-        void set(float amount) {
-            this.age = DESTRUCTION_COOLDOWN;
-            this.amount = amount >= 0 && amount < MAX_DAMAGE ? amount : UNSET_DAMAGE;
-            this.dirty = true;
+        NbtCompound toNbt() {
+            NbtCompound compound = new NbtCompound();
+            int[] packedPositions = new int[size];
+            for (int i = 0; i < size; i++) {
+                packedPositions[i] = positions[i];
+            }
+            compound.putIntArray("positions", packedPositions);
+            compound.putByteArray("damage", Arrays.copyOf(damage, size));
+            compound.putByteArray("age", Arrays.copyOf(age, size));
+            return compound;
         }
 
-        @Override
-        public void toNBT(NbtCompound compound) {
-            compound.putFloat("destruction", amount);
-            compound.putInt("age", age);
+        void fromNbt(NbtCompound compound) {
+            int[] packedPositions = compound.getIntArray("positions");
+            byte[] packedDamage = compound.getByteArray("damage");
+            byte[] packedAge = compound.getByteArray("age");
+            size = 0;
+            for (int i = 0; i < packedPositions.length && i < packedDamage.length && i < packedAge.length; i++) {
+                int index = getOrAdd((short)packedPositions[i]);
+                damage[index] = packedDamage[i];
+                age[index] = packedAge[i];
+                dirty[index] = true;
+            }
+        }
+    }
+
+    static class Storage extends PersistentState {
+        private final Long2ObjectMap<Section> sections = new Long2ObjectOpenHashMap<>();
+
+        Storage(World world, NbtCompound compound) {
+            this(world);
+            NbtCompound sections = compound.getCompound("sections");
+            sections.getKeys().forEach(key -> {
+                try {
+                    long pos = Long.parseLong(key);
+                    Section section = new Section(pos);
+                    section.fromNbt(sections.getCompound(key));
+                    if (section.size > 0) {
+                        this.sections.put(pos, section);
+                    }
+                } catch (NumberFormatException ignored) { }
+            });
+        }
+
+        Storage(World world) {
         }
 
         @Override
-        public void fromNBT(NbtCompound compound) {
-            amount = compound.getFloat("destruction");
-            age = compound.getInt("age");
-            dirty = true;
+        public NbtCompound writeNbt(NbtCompound compound) {
+            NbtCompound sections = new NbtCompound();
+            this.sections.forEach((pos, section) -> sections.put(pos.toString(), section.toNbt()));
+            compound.put("sections", sections);
+            return compound;
         }
     }
 
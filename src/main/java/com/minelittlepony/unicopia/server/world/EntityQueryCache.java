@@ -0,0 +1,218 @@
+package com.minelittlepony.unicopia.server.world;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+import org.jetbrains.annotations.Nullable;
+
+import com.google.common.base.Suppliers;
+import com.minelittlepony.unicopia.util.VecHelper;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.longs.LongOpenHashSet;
+import it.unimi.dsi.fastutil.longs.LongSet;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
+import net.minecraft.entity.Entity;
+import net.minecraft.entity.player.PlayerEntity;
+import net.minecraft.entity.projectile.ProjectileEntity;
+import net.minecraft.util.math.Box;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+import net.minecraft.world.World;
+
+/**
+ * Answers "which entities are near this point" without going back to the world's entity lookup for every query.
+ * <p>
+ * Entities are sorted into a coarse grid of 16x16x16 cells the first time a cell is needed during a tick,
+ * and that cell is then shared with every other query made in the same tick. Mobs tend to look around
+ * overlapping neighbourhoods, so most queries only end up reading cells that were already filled.
+ * Any cells a query needs that aren't filled yet are filled together from a single lookup covering the query's area,
+ * so a query never costs more than one trip to the world's entity lookup.
+ * Everything is thrown out once the world's time moves on.
+ * <p>
+ * Cells hold where entities were when the cell was filled, so an entity that crosses into another cell partway through
+ * a tick may not be seen until the next one. Anything that can cover more than {@link #MOVE_MARGIN} in a tick
+ * (players, projectiles, and anything else already moving that fast) is kept out of the grid and checked by
+ * its current position on every query instead. Distances are always checked against current positions.
+ * <p>
+ * Entities that spawn after the cells around them were filled aren't seen until the next tick.
+ */
+public class EntityQueryCache {
+    /**
+     * Extra distance searched below the requested area, to catch entities whose eyes are in range but whose feet are not.
+     */
+    private static final double EYE_MARGIN = 3;
+    /**
+     * Extra distance searched around the requested area, to catch entities that moved after their cell was filled.
+     */
+    private static final double MOVE_MARGIN = 1;
+
+    private final World world;
+
+    private final Long2ObjectMap<List<Entity>> cells = new Long2ObjectOpenHashMap<>();
+    private final List<Entity> fastMovers = new ArrayList<>();
+    private final Set<Entity> seenFastMovers = new ReferenceOpenHashSet<>();
+
+    private long time = Long.MIN_VALUE;
+
+    public static Supplier<EntityQueryCache> create(World world) {
+        return Suppliers.memoize(() -> new EntityQueryCache(world));
+    }
+
+    public static EntityQueryCache of(World world) {
+        return ((EntityQueryCache.Source)world).getEntityQueryCache();
+    }
+
+    private EntityQueryCache(World world) {
+        this.world = world;
+    }
+
+    /**
+     * Finds all entities of a type within range of a point, sorted closest first.
+     *
+     * @param type      The class of entities to look for
+     * @param origin    An entity to exclude from the results, usually the one doing the looking
+     * @param pos       The centre of the search
+     * @param radius    The maximum distance to either an entity's feet or its eyes
+     * @param predicate An additional filter to apply to the entities found
+     */
+    public <T extends Entity> List<T> findInRange(Class<T> type, @Nullable Entity origin, Vec3d pos, double radius, @Nullable Predicate<? super T> predicate) {
+        List<T> results = new ArrayList<>();
+        forEachInRange(type, origin, pos, radius, predicate, results::add);
+        if (results.size() > 1) {
+            results.sort(Comparator.comparingDouble(e -> e.squaredDistanceTo(pos)));
+        }
+        return results;
+    }
+
+    /**
+     * Finds the closest entity of a type within range of a point.
+     *
+     * @see #findInRange(Class, Entity, Vec3d, double, Predicate)
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Entity> Optional<T> findClosest(Class<T> type, @Nullable Entity origin, Vec3d pos, double radius, @Nullable Predicate<? super T> predicate) {
+        Entity[] closest = new Entity[1];
+        double[] closestDistance = { Double.MAX_VALUE };
+        forEachInRange(type, origin, pos, radius, predicate, e -> {
+            double distance = e.squaredDistanceTo(pos);
+            if (distance < closestDistance[0]) {
+                closestDistance[0] = distance;
+                closest[0] = e;
+            }
+        });
+        return Optional.ofNullable((T)closest[0]);
+    }
+
+    private <T extends Entity> void forEachInRange(Class<T> type, @Nullable Entity origin, Vec3d pos, double radius, @Nullable Predicate<? super T> predicate, Consumer<T> consumer) {
+        if (world.getTime() != time) {
+            time = world.getTime();
+            cells.clear();
+            fastMovers.clear();
+            seenFastMovers.clear();
+        }
+
+        Predicate<Entity> inRange = VecHelper.inRange(pos, radius);
+        double range = radius + MOVE_MARGIN;
+
+        int minX = toCell(pos.x - range);
+        int minY = toCell(pos.y - range - EYE_MARGIN);
+        int minZ = toCell(pos.z - range);
+        int maxX = toCell(pos.x + range);
+        int maxY = toCell(pos.y + range);
+        int maxZ = toCell(pos.z + range);
+
+        fillCells(minX, minY, minZ, maxX, maxY, maxZ);
+
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    for (Entity e : cells.get(ChunkSectionPos.asLong(x, y, z))) {
+                        test(e, type, origin, inRange, predicate, consumer);
+                    }
+                }
+            }
+        }
+
+        // indexed so a predicate that makes its own query can't break the loop by adding to the list
+        for (int i = 0; i < fastMovers.size(); i++) {
+            test(fastMovers.get(i), type, origin, inRange, predicate, consumer);
+        }
+    }
+
+    private static <T extends Entity> void test(Entity e, Class<T> type, @Nullable Entity origin, Predicate<Entity> inRange, @Nullable Predicate<? super T> predicate, Consumer<T> consumer) {
+        if (e != origin && !e.isRemoved() && type.isInstance(e) && inRange.test(e)) {
+            T t = type.cast(e);
+            if (predicate == null || predicate.test(t)) {
+                consumer.accept(t);
+            }
+        }
+    }
+
+    /**
+     * Fills every cell in the given range that hasn't been filled yet this tick, using one lookup over the whole range.
+     */
+    private void fillCells(int minX, int minY, int minZ, int maxX, int maxY, int maxZ) {
+        LongSet missing = new LongOpenHashSet();
+        for (int x = minX; x <= maxX; x++) {
+            for (int y = minY; y <= maxY; y++) {
+                for (int z = minZ; z <= maxZ; z++) {
+                    long key = ChunkSectionPos.asLong(x, y, z);
+                    if (!cells.containsKey(key)) {
+                        missing.add(key);
+                    }
+                }
+            }
+        }
+
+        if (missing.isEmpty()) {
+            return;
+        }
+
+        Long2ObjectMap<List<Entity>> filled = new Long2ObjectOpenHashMap<>();
+        for (Entity e : world.getOtherEntities(null, new Box(
+                ChunkSectionPos.getBlockCoord(minX), ChunkSectionPos.getBlockCoord(minY), ChunkSectionPos.getBlockCoord(minZ),
+                ChunkSectionPos.getBlockCoord(maxX + 1), ChunkSectionPos.getBlockCoord(maxY + 1), ChunkSectionPos.getBlockCoord(maxZ + 1)
+        ))) {
+            if (isFastMover(e)) {
+                if (seenFastMovers.add(e)) {
+                    fastMovers.add(e);
+                }
+                continue;
+            }
+            long key = ChunkSectionPos.asLong(toCell(e.getX()), toCell(e.getY()), toCell(e.getZ()));
+            // cells that were already filled keep what they had so every query in a tick agrees on them
+            if (missing.contains(key)) {
+                filled.computeIfAbsent(key, k -> new ArrayList<>()).add(e);
+            }
+        }
+
+        missing.forEach(key -> cells.put(key, filled.getOrDefault(key, List.of())));
+    }
+
+    /**
+     * Checks whether an entity might move further than {@link #MOVE_MARGIN} before the end of the tick.
+     * Players are always included since the server doesn't see their velocity.
+     */
+    private static boolean isFastMover(Entity e) {
+        return e instanceof PlayerEntity
+            || e instanceof ProjectileEntity
+            || e.getVelocity().lengthSquared() > MOVE_MARGIN * MOVE_MARGIN;
+    }
+
+    private static int toCell(double coordinate) {
+        return ChunkSectionPos.getSectionCoord(MathHelper.floor(coordinate));
+    }
+
+    public interface Source {
+        EntityQueryCache getEntityQueryCache();
+    }
+}
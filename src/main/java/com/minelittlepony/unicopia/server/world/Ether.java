@@ -3,6 +3,7 @@ package com.minelittlepony.unicopia.server.world;
 import java.lang.ref.WeakReference;
 import java.util.*;
 import java.util.function.BiPredicate;
+import java.util.function.LongConsumer;
 import java.util.function.Predicate;
 
 import org.jetbrains.annotations.Nullable;
@@ -13,8 +14,17 @@ import com.minelittlepony.unicopia.ability.magic.spell.Spell;
 import com.minelittlepony.unicopia.ability.magic.spell.effect.SpellType;
 import com.minelittlepony.unicopia.entity.EntityReference;
 import com.minelittlepony.unicopia.util.NbtSerialisable;
+
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMaps;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.ReferenceOpenHashSet;
 import net.minecraft.nbt.*;
 import net.minecraft.util.Identifier;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.World;
 
@@ -27,6 +37,16 @@ public class Ether extends PersistentState {
 
     private final Map<Identifier, Map<UUID, Map<UUID, Entry<?>>>> endpoints;
 
+    /**
+     * Entries with a known area of effect, indexed by type and every chunk that area overlaps.
+     */
+    private final Map<Identifier, Long2ObjectMap<Set<Entry<?>>>> regions = new HashMap<>();
+    /**
+     * The resolved entries overlapping each chunk, cached for the duration of a tick.
+     */
+    private final Map<Identifier, Long2ObjectMap<List<Region<?>>>> regionCache = new HashMap<>();
+    private long regionCacheTime;
+
     private final Object locker = new Object();
 
     private final World world;
@@ -83,7 +103,9 @@ public class Ether extends PersistentState {
     public <T extends Spell> void remove(SpellType<T> spellType, UUID entityId) {
         synchronized (locker) {
             endpoints.computeIfPresent(spellType.getId(), (typeId, entries) -> {
-                if (entries.remove(entityId) != null) {
+                var removed = entries.remove(entityId);
+                if (removed != null) {
+                    removed.values().forEach(this::unindex);
                     markDirty();
                 }
                 return entries.isEmpty() ? null : entries;
@@ -148,6 +170,101 @@ public class Ether extends PersistentState {
         return false;
     }
 
+    /**
+     * Checks whether any entry whose area of effect contains the given position matches a condition.
+     * <p>
+     * Only entries that have had their bounds set by {@link Entry#setBounds} are considered.
+     */
+    @SuppressWarnings("unchecked")
+    public <T extends Spell> boolean anyMatchAt(SpellType<T> spellType, Vec3d pos, BiPredicate<T, Caster<?>> condition) {
+        synchronized (locker) {
+            if (regions.isEmpty()) {
+                return false;
+            }
+            for (Region<?> region : getRegions(spellType.getId(), ChunkPos.toLong(
+                    ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.x)),
+                    ChunkSectionPos.getSectionCoord(MathHelper.floor(pos.z))
+            ))) {
+                if (region.contains(pos) && condition.test((T)region.spell(), region.caster())) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private List<Region<?>> getRegions(Identifier typeId, long chunkPos) {
+        if (regionCacheTime != world.getTime()) {
+            regionCacheTime = world.getTime();
+            regionCache.clear();
+        }
+
+        List<Region<?>> cached = regionCache.computeIfAbsent(typeId, id -> new Long2ObjectOpenHashMap<>()).get(chunkPos);
+        if (cached != null) {
+            return cached;
+        }
+
+        Set<Entry<?>> entries = regions.getOrDefault(typeId, Long2ObjectMaps.emptyMap()).get(chunkPos);
+        if (entries == null || entries.isEmpty()) {
+            cached = List.of();
+        } else {
+            cached = new ArrayList<>();
+            // resolving an entry may mark it as dead, which removes it from the index
+            for (Entry<?> entry : new ArrayList<>(entries)) {
+                Spell spell = entry.getSpell();
+                Caster<?> caster = entry.getCaster();
+                if (spell != null && caster != null && entry.origin != null) {
+                    cached.add(new Region<>(spell, caster, entry.origin, entry.radius));
+                }
+            }
+        }
+        regionCache.computeIfAbsent(typeId, id -> new Long2ObjectOpenHashMap<>()).put(chunkPos, cached);
+        return cached;
+    }
+
+    private void index(Entry<?> entry) {
+        if (entry.indexedType == null || entry.origin == null) {
+            return;
+        }
+        forEachChunk(entry, chunkPos -> {
+            regions.computeIfAbsent(entry.indexedType, id -> new Long2ObjectOpenHashMap<>())
+                .computeIfAbsent(chunkPos, p -> new ReferenceOpenHashSet<>())
+                .add(entry);
+        });
+        regionCache.clear();
+    }
+
+    private void unindex(Entry<?> entry) {
+        if (entry.indexedType == null || entry.origin == null) {
+            return;
+        }
+        Long2ObjectMap<Set<Entry<?>>> chunks = regions.get(entry.indexedType);
+        if (chunks != null) {
+            forEachChunk(entry, chunkPos -> {
+                Set<Entry<?>> entries = chunks.get(chunkPos);
+                if (entries != null && entries.remove(entry) && entries.isEmpty()) {
+                    chunks.remove(chunkPos);
+                }
+            });
+            if (chunks.isEmpty()) {
+                regions.remove(entry.indexedType);
+            }
+        }
+        regionCache.clear();
+    }
+
+    private static void forEachChunk(Entry<?> entry, LongConsumer consumer) {
+        int minX = ChunkSectionPos.getSectionCoord(MathHelper.floor(entry.origin.x - entry.radius));
+        int maxX = ChunkSectionPos.getSectionCoord(MathHelper.floor(entry.origin.x + entry.radius));
+        int minZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(entry.origin.z - entry.radius));
+        int maxZ = ChunkSectionPos.getSectionCoord(MathHelper.floor(entry.origin.z + entry.radius));
+        for (int x = minX; x <= maxX; x++) {
+            for (int z = minZ; z <= maxZ; z++) {
+                consumer.accept(ChunkPos.toLong(x, z));
+            }
+        }
+    }
+
     private void pruneNodes() {
         this.endpoints.values().removeIf(entities -> {
             entities.values().removeIf(spells -> {
@@ -172,6 +289,11 @@ public class Ether extends PersistentState {
         public float yaw;
         public float radius;
 
+        @Nullable
+        private Vec3d origin;
+        @Nullable
+        private Identifier indexedType;
+
         private Entry(NbtElement nbt) {
             this.entity = new EntityReference<>();
             this.spell = new WeakReference<>(null);
@@ -203,9 +325,34 @@ public class Ether extends PersistentState {
         public void markDead() {
             Unicopia.LOGGER.debug("Marking " + entity.getTarget().orElse(null) + " as dead");
             removed = true;
+            synchronized (locker) {
+                unindex(this);
+                origin = null;
+            }
             markDirty();
         }
 
+        /**
+         * Sets the area of effect for this entry so it can be found with {@link Ether#anyMatchAt}.
+         * Must be called with the entry's spell still attached.
+         */
+        public void setBounds(Vec3d origin, float radius) {
+            T spell = this.spell.get();
+            if (removed || spell == null) {
+                return;
+            }
+            synchronized (locker) {
+                if (origin.equals(this.origin) && radius == this.radius) {
+                    return;
+                }
+                unindex(this);
+                this.origin = origin;
+                this.radius = radius;
+                this.indexedType = spell.getType().getId();
+                index(this);
+            }
+        }
+
         public boolean entityMatches(UUID uuid) {
             return entity.getTarget().filter(target -> uuid.equals(target.uuid())).isPresent();
         }
@@ -296,4 +443,10 @@ public class Ether extends PersistentState {
             return Objects.hash(entity, spell.get());
         }
     }
+
+    private record Region<T extends Spell> (T spell, Caster<?> caster, Vec3d origin, float radius) {
+        boolean contains(Vec3d pos) {
+            return origin.squaredDistanceTo(pos) <= radius * radius;
+        }
+    }
 }
@@ -1,35 +1,39 @@
 package com.minelittlepony.unicopia.server.world;
 
-import java.util.HashSet;
-import java.util.Set;
 import java.util.UUID;
-import java.util.function.Function;
 
 import com.minelittlepony.unicopia.Unicopia;
-import com.minelittlepony.unicopia.entity.DynamicLightSource;
 
-import it.unimi.dsi.fastutil.objects.AbstractObject2IntMap;
-import it.unimi.dsi.fastutil.objects.Object2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2IntMap;
+import it.unimi.dsi.fastutil.longs.Long2IntOpenHashMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectMap;
+import it.unimi.dsi.fastutil.longs.Long2ObjectOpenHashMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectMap;
+import it.unimi.dsi.fastutil.objects.Object2ObjectOpenHashMap;
 import net.minecraft.entity.Entity;
 import net.minecraft.nbt.NbtCompound;
-import net.minecraft.server.world.ServerWorld;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.World;
 
+/**
+ * Tracks the positions of dynamic light emitters in a world.
+ * <p>
+ * Emitters are indexed by the chunk section they occupy so the lighting engine
+ * can query the luminance at a block without having to resolve any entities.
+ */
 public class LightSources extends PersistentState {
     private static final Identifier ID = Unicopia.id("light_sources");
 
-    private final Set<UUID> lightSourceIds = new HashSet<>();
-    private final AbstractObject2IntMap<UUID> lightSourceClientIds = new Object2IntOpenHashMap<>();
+    private final Object2ObjectMap<UUID, Emitter> emitters = new Object2ObjectOpenHashMap<>();
+    private final Long2ObjectMap<Long2IntMap> sections = new Long2ObjectOpenHashMap<>();
     private volatile boolean empty = true;
 
     private final World world;
 
-    private final Function<UUID, Entity> entitySupplier;
-
     public static LightSources get(World world) {
         return WorldOverlay.getPersistableStorage(world, ID, LightSources::new, LightSources::new);
     }
@@ -40,7 +44,6 @@ public class LightSources extends PersistentState {
 
     LightSources(World world) {
         this.world = world;
-        entitySupplier = world instanceof ServerWorld s ? s::getEntity : id -> world.getEntityById(lightSourceClientIds.getInt(id));
     }
 
     @Override
@@ -48,10 +51,21 @@ public class LightSources extends PersistentState {
         return compound;
     }
 
-    public void addLightSource(Entity entity) {
-        synchronized (lightSourceIds) {
-            lightSourceIds.add(entity.getUuid());
-            lightSourceClientIds.put(entity.getUuid(), entity.getId());
+    public void addLightSource(Entity entity, int light) {
+        if (light <= 0) {
+            removeLightSource(entity);
+            return;
+        }
+        long pos = entity.getBlockPos().asLong();
+        synchronized (sections) {
+            Emitter previous = emitters.put(entity.getUuid(), new Emitter(pos, light));
+            if (previous != null) {
+                if (previous.pos() == pos && previous.light() == light) {
+                    return;
+                }
+                unindex(previous);
+            }
+            sections.computeIfAbsent(ChunkSectionPos.fromBlockPos(pos), p -> new Long2IntOpenHashMap()).mergeInt(pos, light, Integer::sum);
             empty = false;
         }
     }
@@ -60,10 +74,29 @@ public class LightSources extends PersistentState {
         if (empty) {
             return;
         }
-        synchronized (lightSourceIds) {
-            lightSourceIds.remove(entity.getUuid());
-            lightSourceClientIds.removeInt(entity.getUuid());
-            empty = lightSourceIds.isEmpty();
+        synchronized (sections) {
+            Emitter previous = emitters.remove(entity.getUuid());
+            if (previous != null) {
+                unindex(previous);
+            }
+            empty = emitters.isEmpty();
+        }
+    }
+
+    private void unindex(Emitter emitter) {
+        long sectionPos = ChunkSectionPos.fromBlockPos(emitter.pos());
+        Long2IntMap section = sections.get(sectionPos);
+        if (section == null) {
+            return;
+        }
+        int remaining = section.get(emitter.pos()) - emitter.light();
+        if (remaining > 0) {
+            section.put(emitter.pos(), remaining);
+        } else {
+            section.remove(emitter.pos());
+            if (section.isEmpty()) {
+                sections.remove(sectionPos);
+            }
         }
     }
 
@@ -71,49 +104,44 @@ public class LightSources extends PersistentState {
         if (empty) {
             return 0;
         }
-        final int[] result = {0};
-        forEachLightSource((pos, level) -> {
-           if (pos.asLong() == blockPos) {
-               result[0] += level;
-           }
-        });
-        return result[0];
+        synchronized (sections) {
+            Long2IntMap section = sections.get(ChunkSectionPos.fromBlockPos(blockPos));
+            return section == null ? 0 : section.get(blockPos);
+        }
     }
 
     public void forEachLightSource(ChunkPos chunkPos, LightSourceConsumer consumer) {
-        forEachLightSource((pos, level) -> {
-            if (checkPos(chunkPos, pos)) {
-                consumer.accept(pos, level);
+        if (empty) {
+            return;
+        }
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        synchronized (sections) {
+            for (int y = world.getBottomSectionCoord(); y < world.getTopSectionCoord(); y++) {
+                Long2IntMap section = sections.get(ChunkSectionPos.asLong(chunkPos.x, y, chunkPos.z));
+                if (section != null) {
+                    section.long2IntEntrySet().forEach(entry -> {
+                        consumer.accept(mutable.set(entry.getLongKey()), entry.getIntValue());
+                    });
+                }
             }
-        });
+        }
     }
 
     public void forEachLightSource(LightSourceConsumer consumer) {
         if (empty) {
             return;
         }
-        synchronized (lightSourceIds) {
-            lightSourceIds.removeIf(id -> {
-                Entity entity = entitySupplier.apply(id);
-                if (entity instanceof DynamicLightSource source) {
-                    consumer.accept(entity.getBlockPos(), source.getLightLevel());
-                    return false;
-                }
-                return true;
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        synchronized (sections) {
+            sections.values().forEach(section -> {
+                section.long2IntEntrySet().forEach(entry -> {
+                    consumer.accept(mutable.set(entry.getLongKey()), entry.getIntValue());
+                });
             });
-            empty = lightSourceIds.isEmpty();
         }
     }
 
-    private boolean checkPos(ChunkPos chunkPos, BlockPos pos) {
-        return world.isInBuildLimit(pos)
-            && checkPos(pos.getX(), chunkPos.getStartX(), chunkPos.getEndX())
-            && checkPos(pos.getZ(), chunkPos.getStartZ(), chunkPos.getEndZ());
-    }
-
-    private boolean checkPos(int p, int min, int max) {
-        return p >= min && p <= max;
-    }
+    private record Emitter(long pos, int light) {}
 
     public interface LightSourceConsumer {
         void accept(BlockPos pos, int light);
@@ -0,0 +1,179 @@
+package com.minelittlepony.unicopia.server.world;
+
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Queue;
+import java.util.function.Consumer;
+
+import com.minelittlepony.unicopia.Unicopia;
+import com.minelittlepony.unicopia.util.Tickable;
+
+import net.minecraft.nbt.NbtCompound;
+import net.minecraft.util.Identifier;
+import net.minecraft.world.PersistentState;
+import net.minecraft.world.World;
+
+/**
+ * Runs tasks on the server thread a given number of world ticks after they were scheduled.
+ * <p>
+ * Tasks are kept in a timing wheel of buckets indexed by the tick they are due, so each tick
+ * only has to look at the tasks in its own bucket. Tasks due further out than the size of the
+ * wheel simply stay in their bucket until the wheel comes around to the right tick.
+ * <p>
+ * No more than {@link #BUDGET} tasks run per tick. Anything over that carries over to the next tick.
+ */
+public class TaskScheduler extends PersistentState implements Tickable {
+    private static final Identifier ID = Unicopia.id("task_scheduler");
+
+    private static final int WHEEL_SIZE = 256;
+    private static final int WHEEL_MASK = WHEEL_SIZE - 1;
+    public static final int BUDGET = 1024;
+
+    private final World world;
+
+    @SuppressWarnings("unchecked")
+    private final List<Task>[] wheel = new List[WHEEL_SIZE];
+    private final Queue<Task> backlog = new ArrayDeque<>();
+
+    private long ticks;
+    private int pending;
+
+    private long queued;
+    private long executed;
+    private long cancelled;
+
+    public static TaskScheduler get(World world) {
+        return WorldOverlay.getPersistableStorage(world, ID, TaskScheduler::new, TaskScheduler::new);
+    }
+
+    TaskScheduler(World world, NbtCompound compound) {
+        this(world);
+    }
+
+    TaskScheduler(World world) {
+        this.world = world;
+        for (int i = 0; i < WHEEL_SIZE; i++) {
+            wheel[i] = new ArrayList<>();
+        }
+    }
+
+    @Override
+    public NbtCompound writeNbt(NbtCompound compound) {
+        return compound;
+    }
+
+    /**
+     * Schedules a task to run at the end of a later tick.
+     *
+     * @param task The task to run
+     * @param delay The number of ticks to wait. Tasks always wait at least until the end of the next tick.
+     */
+    public Handle schedule(Consumer<World> task, int delay) {
+        Task t = new Task(task, ticks + Math.max(1, delay));
+        wheel[(int)(t.due & WHEEL_MASK)].add(t);
+        pending++;
+        queued++;
+        return t;
+    }
+
+    /**
+     * The number of tasks waiting to run.
+     */
+    public int getPending() {
+        return pending;
+    }
+
+    /**
+     * The total number of tasks ever scheduled.
+     */
+    public long getQueued() {
+        return queued;
+    }
+
+    /**
+     * The total number of tasks that have run.
+     */
+    public long getExecuted() {
+        return executed;
+    }
+
+    /**
+     * The total number of tasks that were cancelled before they could run.
+     */
+    public long getCancelled() {
+        return cancelled;
+    }
+
+    @Override
+    public void tick() {
+        ticks++;
+
+        int budget = BUDGET;
+        while (budget > 0 && !backlog.isEmpty()) {
+            if (run(backlog.poll())) {
+                budget--;
+            }
+        }
+
+        int index = (int)(ticks & WHEEL_MASK);
+        List<Task> bucket = wheel[index];
+        if (bucket.isEmpty()) {
+            return;
+        }
+        // anything scheduled while running this bucket goes to a fresh one so it isn't picked up until its time
+        wheel[index] = new ArrayList<>();
+
+        for (Task task : bucket) {
+            if (task.due > ticks) {
+                wheel[index].add(task);
+            } else if (budget > 0 || task.cancelled) {
+                if (run(task)) {
+                    budget--;
+                }
+            } else {
+                backlog.add(task);
+            }
+        }
+    }
+
+    private boolean run(Task task) {
+        pending--;
+        if (task.cancelled) {
+            cancelled++;
+            return false;
+        }
+        executed++;
+        try {
+            task.task.accept(world);
+        } catch (Throwable t) {
+            Unicopia.LOGGER.error("Exception running scheduled task", t);
+        }
+        return true;
+    }
+
+    public interface Handle {
+        Handle NONE = () -> {};
+
+        /**
+         * Prevents the task from running if it hasn't already.
+         */
+        void cancel();
+    }
+
+    private static final class Task implements Handle {
+        private final Consumer<World> task;
+        private final long due;
+        private boolean cancelled;
+
+        Task(Consumer<World> task, long due) {
+            this.task = task;
+            this.due = due;
+        }
+
+        @Override
+        public void cancel() {
+            cancelled = true;
+        }
+    }
+}
@@ -35,6 +35,10 @@ public class WeatherConditions extends PersistentState implements Tickable {
         } while (world.isAir(pos) && world.isInBuildLimit(pos));
         return y - pos.getY();
     };
+    public static final Plane CACHED_ALTITUDE_FIELD = (world, pos) -> {
+        float altitude = get(world).getAirflowField().getAltitude(pos);
+        return Float.isNaN(altitude) ? LOCAL_ALTITUDE_FIELD.getValue(world, pos) : altitude;
+    };
 
     public static final double FIRE_UPDRAFT = 0.13;
     public static final double SAND_UPDRAFT = 0.03;
@@ -63,6 +67,8 @@ public class WeatherConditions extends PersistentState implements Tickable {
 
     private Map<UUID, Storm> storms = new HashMap<>();
 
+    private final AirflowField airflowField;
+
     private WeatherConditions(World world, NbtCompound compound) {
         this(world);
         windYaw = compound.getFloat("windYaw");
@@ -74,6 +80,11 @@ public class WeatherConditions extends PersistentState implements Tickable {
 
     private WeatherConditions(World world) {
         this.world = world;
+        this.airflowField = new AirflowField(world);
+    }
+
+    public AirflowField getAirflowField() {
+        return airflowField;
     }
 
     public void addStorm(StormCloudEntity cloud) {
@@ -161,7 +172,7 @@ public class WeatherConditions extends PersistentState implements Tickable {
         final float terrainFactor = getScaledDistanceFromTerrain(probedPosition.set(pos), world, MAX_TERRAIN_HEIGHT);
         final float windFactor = getScaledDistanceFromTerrain(probedPosition.set(pos), world, MAX_WIND_HEIGHT);
 
-        Vec3d terrainGradient = LOCAL_ALTITUDE_FIELD.computeAverage(world, pos, probedPosition).multiply(1 - terrainFactor);
+        Vec3d terrainGradient = CACHED_ALTITUDE_FIELD.computeAverage(world, pos, probedPosition).multiply(1 - terrainFactor);
         Vec3d thermalGradient = THERMAL_FIELD.computeAverage(world, pos, probedPosition).multiply(1 - terrainFactor);
         Vec3d wind = get(world).getWindDirection().multiply(windFactor);
 
@@ -173,17 +184,25 @@ public class WeatherConditions extends PersistentState implements Tickable {
     }
 
     public static double getUpdraft(BlockPos.Mutable pos, World world) {
+        AirflowField field = get(world).getAirflowField();
+        float altitude = field.getAltitude(pos);
+        if (!Float.isNaN(altitude)) {
+            return (1 - Math.min(MAX_UPDRAFT_HEIGHT, altitude) / MAX_UPDRAFT_HEIGHT) * field.getSurfaceTemperature(pos);
+        }
+
         double factor = 1 - getScaledDistanceFromTerrain(pos, world, MAX_UPDRAFT_HEIGHT);
         return factor * getMaterialSurfaceTemperature(pos, world);
     }
 
     private static float getScaledDistanceFromTerrain(BlockPos.Mutable pos, World world, float maxDistance) {
-        return Math.min(maxDistance, LOCAL_ALTITUDE_FIELD.getValue(world, pos)) / maxDistance;
+        return Math.min(maxDistance, CACHED_ALTITUDE_FIELD.getValue(world, pos)) / maxDistance;
     }
 
     private static double getMaterialSurfaceTemperature(BlockPos.Mutable pos, World world) {
-        BlockState state = world.getBlockState(pos);
+        return getMaterialSurfaceTemperature(world.getBlockState(pos), world);
+    }
 
+    static double getMaterialSurfaceTemperature(BlockState state, World world) {
         if (state.isAir()) {
             return VOID_UPDRAFT;
         }
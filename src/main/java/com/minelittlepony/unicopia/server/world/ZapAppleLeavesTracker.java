@@ -0,0 +1,122 @@
+package com.minelittlepony.unicopia.server.world;
+
+import com.minelittlepony.unicopia.block.zap.ZapStagedBlock;
+
+import it.unimi.dsi.fastutil.longs.*;
+import net.minecraft.block.BlockState;
+import net.minecraft.block.LeavesBlock;
+import net.minecraft.server.world.ServerWorld;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
+import net.minecraft.util.math.ChunkSectionPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.world.chunk.ChunkSection;
+import net.minecraft.world.chunk.WorldChunk;
+
+/**
+ * Keeps track of the loaded zap apple leaves in a world and moves them through the
+ * stages of the zap apple cycle in small batches whenever the world's stage changes.
+ */
+class ZapAppleLeavesTracker {
+    /**
+     * The maximum number of leaves to visit per tick.
+     */
+    private static final int BUDGET = 256;
+
+    private final Long2ObjectMap<LongSet> chunks = new Long2ObjectOpenHashMap<>();
+
+    private final LongList queue = new LongArrayList();
+    private int cursor;
+    private int ticksPerPass = 1;
+
+    private boolean settled;
+    private boolean passChanged;
+
+    public void add(BlockPos pos) {
+        chunks.computeIfAbsent(ChunkPos.toLong(pos), c -> new LongOpenHashSet()).add(pos.asLong());
+        settled = false;
+    }
+
+    public void remove(BlockPos pos) {
+        long chunkPos = ChunkPos.toLong(pos);
+        LongSet leaves = chunks.get(chunkPos);
+        if (leaves != null && leaves.remove(pos.asLong()) && leaves.isEmpty()) {
+            chunks.remove(chunkPos);
+        }
+    }
+
+    public void onChunkLoaded(WorldChunk chunk) {
+        ChunkSection[] sections = chunk.getSectionArray();
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (int i = 0; i < sections.length; i++) {
+            ChunkSection section = sections[i];
+            if (!section.hasAny(state -> state.getBlock() instanceof ZapStagedBlock)) {
+                continue;
+            }
+            int minY = ChunkSectionPos.getBlockCoord(chunk.sectionIndexToCoord(i));
+            for (int y = 0; y < 16; y++) {
+                for (int z = 0; z < 16; z++) {
+                    for (int x = 0; x < 16; x++) {
+                        if (section.getBlockState(x, y, z).getBlock() instanceof ZapStagedBlock) {
+                            add(mutable.set(chunk.getPos().getStartX() + x, minY + y, chunk.getPos().getStartZ() + z));
+                        }
+                    }
+                }
+            }
+        }
+    }
+
+    public void onChunkUnloaded(ChunkPos pos) {
+        chunks.remove(pos.toLong());
+    }
+
+    public void onStageChanged() {
+        settled = false;
+    }
+
+    public void tick(ServerWorld world, ZapAppleStageStore.Stage stage) {
+        if (settled || world.isDay()) {
+            return;
+        }
+
+        if (cursor >= queue.size()) {
+            if (!queue.isEmpty() && !passChanged) {
+                queue.clear();
+                settled = true;
+                return;
+            }
+            queue.clear();
+            chunks.values().forEach(queue::addAll);
+            cursor = 0;
+            passChanged = false;
+            ticksPerPass = Math.max(1, MathHelper.ceilDiv(queue.size(), BUDGET));
+            if (queue.isEmpty()) {
+                settled = true;
+                return;
+            }
+        }
+
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        int end = Math.min(queue.size(), cursor + BUDGET);
+        for (; cursor < end; cursor++) {
+            BlockPos pos = mutable.set(queue.getLong(cursor));
+            if (!world.isChunkLoaded(pos)) {
+                continue;
+            }
+            BlockState state = world.getBlockState(pos);
+            if (!(state.getBlock() instanceof ZapStagedBlock block) || (state.contains(LeavesBlock.PERSISTENT) && state.get(LeavesBlock.PERSISTENT))) {
+                remove(pos);
+                continue;
+            }
+            if (block.getStage(state) == stage) {
+                continue;
+            }
+            passChanged = true;
+            // each leaf is only visited once per pass, so scale the per-tick chance of it transitioning accordingly
+            int transitionRate = block.getTransitionRate(stage);
+            if (transitionRate == 0 || world.random.nextFloat() < 1 - Math.pow(1 - 1F / transitionRate, ticksPerPass)) {
+                block.advanceStage(state, world, pos.toImmutable(), world.random);
+            }
+        }
+    }
+}
@@ -17,14 +17,17 @@ import com.minelittlepony.unicopia.util.Tickable;
 import net.minecraft.entity.EntityType;
 import net.minecraft.entity.LightningEntity;
 import net.minecraft.nbt.*;
+import net.minecraft.server.world.ServerWorld;
 import net.minecraft.sound.SoundCategory;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.StringIdentifiable;
 import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.ChunkPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.world.PersistentState;
 import net.minecraft.world.World;
+import net.minecraft.world.chunk.WorldChunk;
 import net.minecraft.world.dimension.DimensionType;
 import net.minecraft.world.event.GameEvent;
 
@@ -46,6 +49,8 @@ public class ZapAppleStageStore extends PersistentState implements Tickable {
     private int nextLightningEvent = 1200;
     private float prevSkyAngle;
 
+    private final ZapAppleLeavesTracker leaves = new ZapAppleLeavesTracker();
+
     ZapAppleStageStore(World world, NbtCompound compound) {
         this(world);
         lastStage = Stage.VALUES[Math.max(0, compound.getInt("stage")) % Stage.VALUES.length];
@@ -76,6 +81,7 @@ public class ZapAppleStageStore extends PersistentState implements Tickable {
                 if (lastStage != Stage.HIBERNATING || world.getMoonPhase() == 0) {
                     lastStage = lastStage.getNext();
                     playedMoonEffect = false;
+                    leaves.onStageChanged();
                     markDirty();
                     sendUpdate();
                 }
@@ -86,6 +92,26 @@ public class ZapAppleStageStore extends PersistentState implements Tickable {
         }
 
         prevSkyAngle = skyAngle;
+
+        if (world instanceof ServerWorld sw) {
+            leaves.tick(sw, lastStage);
+        }
+    }
+
+    public void addLeaves(BlockPos pos) {
+        leaves.add(pos);
+    }
+
+    public void removeLeaves(BlockPos pos) {
+        leaves.remove(pos);
+    }
+
+    public void onChunkLoaded(WorldChunk chunk) {
+        leaves.onChunkLoaded(chunk);
+    }
+
+    public void onChunkUnloaded(ChunkPos pos) {
+        leaves.onChunkUnloaded(pos);
     }
 
     protected void sendUpdate() {
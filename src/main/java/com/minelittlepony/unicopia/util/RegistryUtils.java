@@ -7,6 +7,7 @@ import java.util.stream.Stream;
 import com.mojang.serialization.Lifecycle;
 
 import net.fabricmc.fabric.api.event.registry.FabricRegistryBuilder;
+import net.fabricmc.fabric.api.event.registry.RegistryAttribute;
 import net.minecraft.registry.tag.TagKey;
 import net.minecraft.util.Identifier;
 import net.minecraft.util.Util;
@@ -25,6 +26,16 @@ public interface RegistryUtils {
         return FabricRegistryBuilder.from(new SimpleDefaultedRegistry<T>(def, RegistryKey.ofRegistry(id), Lifecycle.stable(), false)).buildAndRegister();
     }
 
+    /**
+     * Creates a defaulted registry whose raw ids are synchronised to clients when they join,
+     * so its values can be sent over the network by raw id.
+     */
+    static <T> Registry<T> createSyncedDefaulted(Identifier id, String def) {
+        return FabricRegistryBuilder.from(new SimpleDefaultedRegistry<T>(def, RegistryKey.ofRegistry(id), Lifecycle.stable(), false))
+                .attribute(RegistryAttribute.SYNCED)
+                .buildAndRegister();
+    }
+
     static <T> RegistryEntryList<T> entriesForTag(World world, TagKey<T> key) {
         return world.getRegistryManager().get(key.registry()).getOrCreateEntryList(key);
     }
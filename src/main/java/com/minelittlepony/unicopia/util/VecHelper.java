@@ -7,11 +7,14 @@ import java.util.function.Supplier;
 
 import org.jetbrains.annotations.Nullable;
 
+import com.minelittlepony.unicopia.server.world.EntityQueryCache;
+
 import net.minecraft.entity.Entity;
 import net.minecraft.util.math.Box;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 import net.minecraft.world.EntityView;
+import net.minecraft.world.World;
 
 public interface VecHelper {
 
@@ -43,13 +46,20 @@ public interface VecHelper {
         };
     }
 
+    /**
+     * Finds all entities within range of a point, sorted closest first.
+     * For worlds, this goes through the world's {@link EntityQueryCache}, so it isn't a live query:
+     * entities that spawned after the cells around them were first looked up this tick won't be found until the next tick.
+     */
     static List<Entity> findInRange(@Nullable Entity origin, EntityView w, Vec3d pos, double radius, @Nullable Predicate<Entity> predicate) {
+        if (w instanceof World world) {
+            return EntityQueryCache.of(world).findInRange(Entity.class, origin, pos, radius, predicate);
+        }
         double diameter = radius * 2;
         return w.getOtherEntities(origin, Box.of(pos, diameter, diameter, diameter), predicate == null ? inRange(pos, radius) : inRange(pos, radius).and(predicate));
     }
 
     static List<Entity> findInRange(@Nullable Entity origin, EntityView w, Vec3d pos, double radius) {
-        double diameter = radius * 2;
-        return w.getOtherEntities(origin, Box.of(pos, diameter, diameter, diameter), inRange(pos, radius));
+        return findInRange(origin, w, pos, radius, null);
     }
 }
@@ -1,5 +1,9 @@
 package com.minelittlepony.unicopia.util.shape;
 
+import java.util.Objects;
+import java.util.function.Consumer;
+
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
@@ -77,15 +81,26 @@ public class Cylinder implements Shape {
 
     @Override
     public boolean isPointInside(Vec3d point) {
-        point = new Vec3d(point.x / stretchX, point.y, point.z / stretchZ);
-        double y = Math.abs(point.y);
+        return isPointInside(point.x, point.y, point.z);
+    }
+
+    @Override
+    public boolean isPointInside(double x, double y, double z) {
+        x /= stretchX;
+        z /= stretchZ;
+        y = Math.abs(y);
         if (y < height/2) {
-            double r = Math.sqrt((point.x * point.x) + (point.z * point.z));
+            double r = Math.sqrt((x * x) + (z * z));
             return hollow ? r == rad : r <= rad;
         }
         return y == height/2;
     }
 
+    @Override
+    public void forEachBlockPosition(int x, int y, int z, Consumer<BlockPos> consumer) {
+        VoxelMask.of(this).forEach(x, y, z, consumer);
+    }
+
     @Override
     public Vec3d getLowerBound() {
         return new Vec3d(-rad * stretchX, 0, -rad * stretchZ);
@@ -95,4 +110,19 @@ public class Cylinder implements Shape {
     public Vec3d getUpperBound() {
         return new Vec3d(-rad * stretchX, height, -rad * stretchZ);
     }
-}
\ No newline at end of file
+
+    @Override
+    public boolean equals(Object other) {
+        return other instanceof Cylinder o
+                && hollow == o.hollow
+                && Double.compare(stretchX, o.stretchX) == 0
+                && Double.compare(stretchZ, o.stretchZ) == 0
+                && Double.compare(height, o.height) == 0
+                && Double.compare(rad, o.rad) == 0;
+    }
+
+    @Override
+    public int hashCode() {
+        return Objects.hash(hollow, stretchX, stretchZ, height, rad);
+    }
+}
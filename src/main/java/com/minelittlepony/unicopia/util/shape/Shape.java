@@ -1,5 +1,6 @@
 package com.minelittlepony.unicopia.util.shape;
 
+import java.util.function.Consumer;
 import java.util.stream.Stream;
 
 import net.minecraft.util.math.*;
@@ -32,6 +33,13 @@ public interface Shape extends PointGenerator {
      */
     boolean isPointInside(Vec3d point);
 
+    /**
+     * Checks if the given point is on the edge, or if not hollow the inside, of this shape.
+     */
+    default boolean isPointInside(double x, double y, double z) {
+        return isPointInside(new Vec3d(x, y, z));
+    }
+
     /**
      * Returns a stream of all block positions that fit inside this shape.
      */
@@ -42,6 +50,23 @@ public interface Shape extends PointGenerator {
         ).filter(pos -> isPointInside(Vec3d.ofCenter(pos)));
     }
 
+    /**
+     * Calls the consumer with every block position that fits inside this shape.
+     * <p>
+     * The position passed to the consumer is mutable and reused between calls,
+     * so call {@link BlockPos#toImmutable()} on it if you need to hold on to it.
+     */
+    default void forEachBlockPosition(Consumer<BlockPos> consumer) {
+        forEachBlockPosition(0, 0, 0, consumer);
+    }
+
+    /**
+     * Calls the consumer with every block position that fits inside this shape after moving it by a whole number of blocks.
+     */
+    default void forEachBlockPosition(int x, int y, int z, Consumer<BlockPos> consumer) {
+        VoxelMask.scan(this, x, y, z, consumer);
+    }
+
     /**
      * Returns a sequence of random points dealed out to uniformly fill this shape's area.
      */
@@ -1,7 +1,10 @@
 package com.minelittlepony.unicopia.util.shape;
 
+import java.util.function.Consumer;
+
 import org.spongepowered.include.com.google.common.base.Objects;
 
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.MathHelper;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
@@ -87,13 +90,25 @@ public class Sphere implements Shape {
 
     @Override
     public boolean isPointInside(Vec3d point) {
-        point = new Vec3d(point.x / stretch.x, point.y / stretch.y, point.z / stretch.z);
+        return isPointInside(point.x, point.y, point.z);
+    }
+
+    @Override
+    public boolean isPointInside(double x, double y, double z) {
+        x /= stretch.x;
+        y /= stretch.y;
+        z /= stretch.z;
 
-        double dist = point.length();
+        double dist = Math.sqrt(x * x + y * y + z * z);
 
         return hollow ? dist == rad : dist <= rad;
     }
 
+    @Override
+    public void forEachBlockPosition(int x, int y, int z, Consumer<BlockPos> consumer) {
+        VoxelMask.of(this).forEach(x, y, z, consumer);
+    }
+
     @Override
     public Vec3d getLowerBound() {
         return stretch.multiply(-rad);
@@ -1,5 +1,8 @@
 package com.minelittlepony.unicopia.util.shape;
 
+import java.util.function.Consumer;
+
+import net.minecraft.util.math.BlockPos;
 import net.minecraft.util.math.Vec3d;
 import net.minecraft.util.math.random.Random;
 
@@ -33,6 +36,24 @@ record TranslatedPointGenerator (
         return ((Shape)source).isPointInside(point.subtract(offset));
     }
 
+    @Override
+    public boolean isPointInside(double x, double y, double z) {
+        return ((Shape)source).isPointInside(x - offset.x, y - offset.y, z - offset.z);
+    }
+
+    @Override
+    public void forEachBlockPosition(int x, int y, int z, Consumer<BlockPos> consumer) {
+        int offsetX = (int)offset.x;
+        int offsetY = (int)offset.y;
+        int offsetZ = (int)offset.z;
+        if (offsetX == offset.x && offsetY == offset.y && offsetZ == offset.z) {
+            // whole-block offsets leave the voxelized shape unchanged, so the source can reuse its mask
+            ((Shape)source).forEachBlockPosition(x + offsetX, y + offsetY, z + offsetZ, consumer);
+        } else {
+            Shape.super.forEachBlockPosition(x, y, z, consumer);
+        }
+    }
+
     @Override
     public Shape translate(Vec3d offset) {
         if (offset.equals(Vec3d.ZERO)) {
@@ -0,0 +1,72 @@
+package com.minelittlepony.unicopia.util.shape;
+
+import java.util.function.Consumer;
+
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.CacheLoader;
+import com.google.common.cache.LoadingCache;
+
+import it.unimi.dsi.fastutil.ints.IntArrayList;
+import net.minecraft.util.math.BlockPos;
+import net.minecraft.util.math.MathHelper;
+import net.minecraft.util.math.Vec3d;
+
+/**
+ * The precomputed block offsets occupied by a shape centered on the origin.
+ * <p>
+ * Masks are shared between all shapes that are equal to each other,
+ * so filling the same shape repeatedly only has to translate the offset table.
+ */
+final class VoxelMask {
+    private static final LoadingCache<Shape, VoxelMask> CACHE = CacheBuilder.newBuilder()
+            .maximumSize(128)
+            .build(CacheLoader.from(VoxelMask::new));
+
+    private final int[] offsets;
+
+    public static VoxelMask of(Shape shape) {
+        return CACHE.getUnchecked(shape);
+    }
+
+    private VoxelMask(Shape shape) {
+        IntArrayList offsets = new IntArrayList();
+        scan(shape, 0, 0, 0, pos -> {
+            offsets.add(pos.getX());
+            offsets.add(pos.getY());
+            offsets.add(pos.getZ());
+        });
+        this.offsets = offsets.toIntArray();
+    }
+
+    /**
+     * Tests every block position within the bounds of a shape without consulting the cache.
+     */
+    static void scan(Shape shape, int x, int y, int z, Consumer<BlockPos> consumer) {
+        Vec3d lower = shape.getLowerBound();
+        Vec3d upper = shape.getUpperBound();
+        // rotated shapes may have their bounds flipped
+        int minX = MathHelper.floor(Math.min(lower.x, upper.x));
+        int minY = MathHelper.floor(Math.min(lower.y, upper.y));
+        int minZ = MathHelper.floor(Math.min(lower.z, upper.z));
+        int maxX = MathHelper.floor(Math.max(lower.x, upper.x));
+        int maxY = MathHelper.floor(Math.max(lower.y, upper.y));
+        int maxZ = MathHelper.floor(Math.max(lower.z, upper.z));
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (int k = minZ; k <= maxZ; k++) {
+            for (int j = minY; j <= maxY; j++) {
+                for (int i = minX; i <= maxX; i++) {
+                    if (shape.isPointInside(i + 0.5, j + 0.5, k + 0.5)) {
+                        consumer.accept(mutable.set(x + i, y + j, z + k));
+                    }
+                }
+            }
+        }
+    }
+
+    public void forEach(int x, int y, int z, Consumer<BlockPos> consumer) {
+        BlockPos.Mutable mutable = new BlockPos.Mutable();
+        for (int i = 0; i < offsets.length; i += 3) {
+            consumer.accept(mutable.set(x + offsets[i], y + offsets[i + 1], z + offsets[i + 2]));
+        }
+    }
+}